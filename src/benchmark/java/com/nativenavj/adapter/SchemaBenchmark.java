@@ -0,0 +1,47 @@
+package com.nativenavj.adapter;
+
+import com.nativenavj.domain.Telemetry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+
+/**
+ * Decoding of a per-frame SIMCONNECT_RECV_SIMOBJECT_DATA message into the telemetry block,
+ * the work the Connector does in its dispatch upcall.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaBenchmark {
+
+    private Schema schema;
+    private Telemetry telemetry;
+    private MemorySegment message;
+
+    @Setup
+    public void setUp() {
+        schema = Schema.of(com.nativenavj.domain.State.class, 1);
+        telemetry = new Telemetry();
+        long size = Schema.HEADER + schema.layout().get(com.nativenavj.domain.Rate.FRAME).byteSize();
+        message = Arena.ofAuto().allocate(size, 8);
+        message.set(JAVA_INT, 0, (int) size);
+        message.set(JAVA_INT, 8, SimConnect.SIMCONNECT_RECV_ID_SIMOBJECT_DATA);
+        message.set(JAVA_INT, 12, schema.definition(com.nativenavj.domain.Rate.FRAME));
+        for (long offset = Schema.HEADER; offset < size; offset += JAVA_DOUBLE.byteSize()) {
+            message.set(JAVA_DOUBLE, offset, offset);
+        }
+    }
+
+    @Benchmark
+    public boolean decode() throws Throwable {
+        return schema.decode(message, telemetry);
+    }
+}
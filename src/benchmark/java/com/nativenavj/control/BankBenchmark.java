@@ -0,0 +1,59 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Target;
+import com.nativenavj.port.Aircraft;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * All four axes in one pass, to compare with four ControllerBenchmark runs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankBenchmark {
+
+    private final double[] objective = { 2.0, 10.0, 0.0, 0.6 };
+    private final double[] sample = { 1.5, 8.0, 0.5, 0.2 };
+    private Bank bank;
+    private double time;
+
+    @Setup
+    public void setUp() {
+        Memory memory = new Memory();
+        memory.setTarget(new Target(10, 2, 0, 0.6));
+        bank = new Bank(memory, new Aircraft() {
+            @Override
+            public void setElevator(double value) {
+            }
+
+            @Override
+            public void setAileron(double value) {
+            }
+
+            @Override
+            public void setRudder(double value) {
+            }
+
+            @Override
+            public void setThrottle(double value) {
+            }
+        });
+    }
+
+    @Benchmark
+    public void step() {
+        time += 0.02;
+        bank.step(objective, sample, time);
+    }
+
+    @Benchmark
+    public void run() {
+        bank.run();
+    }
+}
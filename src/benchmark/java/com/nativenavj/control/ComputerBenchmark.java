@@ -0,0 +1,38 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Goal;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Navigator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Target computation of an active Computer in cruise.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComputerBenchmark {
+
+    private Memory memory;
+    private Computer computer;
+
+    @Setup
+    public void setUp() {
+        memory = new Memory();
+        memory.setState(new com.nativenavj.domain.State(47, 8, 90, 4800, 2, 1, 90, 115, 3, 100));
+        memory.setGoal(new Goal(5000, 120, 120));
+        memory.setNavigator(Navigator.active("AUTONOMOUS"));
+        computer = new Computer(memory);
+    }
+
+    @Benchmark
+    public Object run() {
+        computer.run();
+        return memory.getTarget();
+    }
+}
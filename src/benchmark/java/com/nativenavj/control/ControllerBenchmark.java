@@ -0,0 +1,48 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Configuration;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Telemetry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller hot path: the PID step alone and a complete run through the ports.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerBenchmark {
+
+    private Memory memory;
+    private Controller controller;
+    private double error;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        memory = new Memory();
+        Telemetry telemetry = memory.getTelemetry();
+        controller = new Controller(() -> memory.getTarget().pitch(), blackhole::consume,
+                reading -> telemetry.sample(Telemetry.PITCH, reading),
+                Configuration.SURFACE);
+    }
+
+    @Benchmark
+    public double compute() {
+        error = -error + 0.5;
+        return controller.compute(error, error * 0.5, 0.02, Configuration.SURFACE);
+    }
+
+    @Benchmark
+    public void run() {
+        Telemetry telemetry = memory.getTelemetry();
+        telemetry.set(Telemetry.TIME, telemetry.get(Telemetry.TIME) + 0.02);
+        telemetry.publish();
+        controller.run();
+    }
+}
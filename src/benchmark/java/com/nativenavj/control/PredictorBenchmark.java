@@ -0,0 +1,44 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.History;
+import com.nativenavj.domain.Target;
+import com.nativenavj.domain.Telemetry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envelope prediction over a full two-second window of 50 Hz telemetry.
+ * Run with -prof gc: a prediction is expected not to allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PredictorBenchmark {
+
+    private final Predictor predictor = new Predictor();
+    private final Target target = new Target(5.0, 2.0, 0.0, 0.5);
+    private History history;
+
+    @Setup
+    public void setUp() {
+        history = new History(256, Telemetry.SIZE);
+        Telemetry telemetry = new Telemetry(history);
+        for (int i = 0; i < 200; i++) {
+            telemetry.set(Telemetry.TIME, i * 0.02);
+            telemetry.set(Telemetry.SPEED, 80.0 - i * 0.02);
+            telemetry.set(Telemetry.ALTITUDE, 1000.0 + i * 0.1);
+            telemetry.set(Telemetry.ROLL, 10.0);
+            telemetry.publish();
+        }
+    }
+
+    @Benchmark
+    public double predict() {
+        predictor.predict(history, target, Computer.STALL, 0.0);
+        return predictor.getSpeedMargin();
+    }
+}
@@ -0,0 +1,70 @@
+package com.nativenavj.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory access under contention: one telemetry writer against controller-like readers,
+ * and the Target reference shared by the Computer and the controllers.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Group)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryBenchmark {
+
+    private final Memory memory = new Memory();
+    private final Target target = new Target(5, 2, 0, 0.6);
+
+    @org.openjdk.jmh.annotations.State(Scope.Thread)
+    public static class Reader {
+        final double[] values = new double[Telemetry.SIZE];
+    }
+
+    @Benchmark
+    @Group("telemetry")
+    @GroupThreads(1)
+    public void publish() {
+        Telemetry telemetry = memory.getTelemetry();
+        telemetry.set(Telemetry.TIME, telemetry.get(Telemetry.TIME) + 0.02);
+        telemetry.publish();
+    }
+
+    @Benchmark
+    @Group("telemetry")
+    @GroupThreads(3)
+    public long read(Reader reader) {
+        return memory.getTelemetry().read(reader.values);
+    }
+
+    @Benchmark
+    @Group("state")
+    @GroupThreads(1)
+    public void setState() {
+        memory.setState(State.neutral());
+    }
+
+    @Benchmark
+    @Group("state")
+    @GroupThreads(3)
+    public State getState() {
+        return memory.getState();
+    }
+
+    @Benchmark
+    @Group("target")
+    @GroupThreads(1)
+    public void setTarget() {
+        memory.setTarget(target);
+    }
+
+    @Benchmark
+    @Group("target")
+    @GroupThreads(3)
+    public Target getTarget() {
+        return memory.getTarget();
+    }
+}
@@ -0,0 +1,33 @@
+package com.nativenavj.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command parsing and execution without an Orchestrator.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShellBenchmark {
+
+    @Param({ "HDG 270", "SET PIT KP 1.2", "SET CPU FRQ 20", "XYZ" })
+    public String command;
+
+    private Shell shell;
+
+    @Setup
+    public void setUp() {
+        shell = new Shell(new Memory(), new ByteArrayInputStream(new byte[0]));
+    }
+
+    @Benchmark
+    public String execute() {
+        return shell.execute(command);
+    }
+}
@@ -1,26 +1,67 @@
 package com.nativenavj;
 
 import com.nativenavj.adapter.Connector;
+import com.nativenavj.control.Campaign;
 import com.nativenavj.control.Computer;
 import com.nativenavj.control.Orchestrator;
+import com.nativenavj.domain.Database;
+import com.nativenavj.domain.Graph;
 import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Planner;
+import com.nativenavj.domain.Recorder;
 import com.nativenavj.domain.Shell;
+import com.nativenavj.domain.Terrain;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Application entry point for NativeNavJ.
  * Bootstraps the system by initializing all core components.
  */
 public class Application {
     private static final Logger log = LoggerFactory.getLogger(Application.class);
+    private static final long RECORDS = 1 << 17; // 16 MiB per recorder segment
+    private static final Path DATABASE = Path.of("navigation.bin");
+    private static final Path AIRWAYS = Path.of("airways.csv");
+    private static final Path TERRAIN = Path.of("terrain");
 
     public static void main(String[] args) {
+        if (args.length == 3 && "database".equalsIgnoreCase(args[0])) {
+            // Builds the navigation database from a text source
+            try {
+                Database.build(Path.of(args[1]), Path.of(args[2]));
+            } catch (Exception e) {
+                log.error("Failed to build the navigation database", e);
+                System.exit(1);
+            }
+            return;
+        }
+        if (args.length > 0 && "campaign".equalsIgnoreCase(args[0])) {
+            // Headless batch mode: no simulator, no shell
+            int runs = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+            new Campaign(seed).run(runs);
+            return;
+        }
         log.info("Starting NativeNavJ Application");
 
         try {
             // Initialize Blackboard
             Memory memory = new Memory();
+            memory.setRecorder(new Recorder(Path.of("recorder"), RECORDS));
+            if (Files.exists(DATABASE)) {
+                memory.setDatabase(new Database(DATABASE));
+                if (Files.exists(AIRWAYS)) {
+                    memory.setPlanner(new Planner(Graph.load(memory.getDatabase(), AIRWAYS)));
+                }
+            }
+
+            if (Files.isDirectory(TERRAIN)) {
+                memory.setTerrain(new Terrain(TERRAIN));
+            }
 
             // Initialize Adapter (SimConnect)
             Connector connector = new Connector(memory);
@@ -0,0 +1,152 @@
+package com.nativenavj.adapter;
+
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.State;
+import com.nativenavj.domain.Telemetry;
+import com.nativenavj.port.Aircraft;
+
+import java.util.Random;
+
+/**
+ * Headless point-mass flight model.
+ * Takes the same normalized control values the Connector sends and publishes
+ * the same telemetry fields the simulator would, so the full stack runs
+ * without MSFS. Attitudes follow the control surfaces as rate commands,
+ * turns are coordinated and speed follows thrust, drag and gravity along
+ * the flight path.
+ */
+public class Airframe implements Aircraft {
+    private static final double GRAVITY = 32.174; // ft/s^2
+    private static final double RATIO = 1.68781; // kts to ft/s
+    private static final double FEET = 364_000.0; // ft per degree of latitude
+    private static final double PITCH_RATE = 5.0; // deg/s at full elevator
+    private static final double ROLL_RATE = 10.0; // deg/s at full aileron
+    private static final double YAW_RATE = 3.0; // deg/s at full rudder
+    private static final double PITCH_LIMIT = 30.0; // deg
+    private static final double ROLL_LIMIT = 60.0; // deg
+    private static final double THRUST = 15.0; // ft/s^2 at full throttle
+    private static final double DRAG = THRUST / (150 * RATIO * 150 * RATIO); // 150 kts at full throttle
+
+    private final Telemetry telemetry;
+    private final Disturbance disturbance;
+    private final Random random;
+
+    // Control inputs, written by the controller threads
+    private volatile double elevator;
+    private volatile double aileron;
+    private volatile double rudder;
+    private volatile double throttle;
+
+    // Flight state, owned by the stepping thread
+    private double latitude;
+    private double longitude;
+    private double heading;
+    private double altitude;
+    private double roll;
+    private double pitch;
+    private double velocity; // ft/s
+    private double climb;
+    private double time;
+
+    public Airframe(Memory memory, State initial) {
+        this(memory, initial, Disturbance.NONE);
+    }
+
+    public Airframe(Memory memory, State initial, Disturbance disturbance) {
+        this.telemetry = memory.getTelemetry();
+        this.disturbance = disturbance;
+        this.random = new Random(disturbance.seed());
+        this.latitude = initial.latitude();
+        this.longitude = initial.longitude();
+        this.heading = initial.heading();
+        this.altitude = initial.altitude();
+        this.roll = initial.roll();
+        this.pitch = initial.pitch();
+        this.velocity = initial.speed() * RATIO;
+        this.climb = initial.climb();
+        this.time = initial.time();
+        publish();
+    }
+
+    /**
+     * Advances the model and publishes one telemetry frame. Stepping thread only.
+     *
+     * @param dt the step in simulator seconds
+     */
+    public void step(double dt) {
+        double gust = disturbance.turbulence();
+        double pitchGust = gust > 0 ? gust * random.nextGaussian() : 0.0;
+        double rollGust = gust > 0 ? gust * random.nextGaussian() : 0.0;
+        pitch = clamp(pitch + (PITCH_RATE * clamp(elevator, -1, 1) + pitchGust) * dt, -PITCH_LIMIT, PITCH_LIMIT);
+        roll = clamp(roll + (ROLL_RATE * clamp(aileron, -1, 1) + rollGust) * dt, -ROLL_LIMIT, ROLL_LIMIT);
+
+        // Coordinated turn plus the rudder's direct yaw
+        double turn = velocity > 1.0 ? Math.toDegrees(GRAVITY * Math.tan(Math.toRadians(roll)) / velocity) : 0.0;
+        heading = (heading + (turn + YAW_RATE * clamp(rudder, -1, 1)) * dt + 360.0) % 360.0;
+
+        double gamma = Math.toRadians(pitch);
+        double acceleration = (THRUST * clamp(throttle, 0, 1) - DRAG * velocity * velocity) / disturbance.mass()
+                - GRAVITY * Math.sin(gamma);
+        velocity = Math.max(0.0, velocity + acceleration * dt);
+        climb = velocity * Math.sin(gamma);
+        altitude += climb * dt;
+        if (altitude < 0) {
+            altitude = 0;
+            climb = 0;
+        }
+
+        // Ground track: air velocity plus the wind, which blows from its direction
+        double distance = velocity * Math.cos(gamma) * dt;
+        double bearing = Math.toRadians(heading);
+        double drift = disturbance.wind() * RATIO * dt;
+        double downwind = Math.toRadians(disturbance.direction() + 180.0);
+        double north = distance * Math.cos(bearing) + drift * Math.cos(downwind);
+        double east = distance * Math.sin(bearing) + drift * Math.sin(downwind);
+        latitude += north / FEET;
+        longitude += east / (FEET * Math.max(0.01, Math.cos(Math.toRadians(latitude))));
+        time += dt;
+        publish();
+    }
+
+    @Override
+    public void setElevator(double value) {
+        elevator = value;
+    }
+
+    @Override
+    public void setAileron(double value) {
+        aileron = value;
+    }
+
+    @Override
+    public void setRudder(double value) {
+        rudder = value;
+    }
+
+    @Override
+    public void setThrottle(double value) {
+        throttle = value;
+    }
+
+    private void publish() {
+        telemetry.set(Telemetry.LATITUDE, latitude);
+        telemetry.set(Telemetry.LONGITUDE, longitude);
+        telemetry.set(Telemetry.HEADING, heading);
+        telemetry.set(Telemetry.ALTITUDE, altitude);
+        telemetry.set(Telemetry.ROLL, roll + noise());
+        telemetry.set(Telemetry.PITCH, pitch + noise());
+        telemetry.set(Telemetry.YAW, heading);
+        telemetry.set(Telemetry.SPEED, velocity / RATIO + noise());
+        telemetry.set(Telemetry.CLIMB, climb);
+        telemetry.set(Telemetry.TIME, time);
+        telemetry.publish();
+    }
+
+    private double noise() {
+        return disturbance.noise() > 0 ? disturbance.noise() * random.nextGaussian() : 0.0;
+    }
+
+    private static double clamp(double value, double minimum, double maximum) {
+        return Math.max(minimum, Math.min(maximum, value));
+    }
+}
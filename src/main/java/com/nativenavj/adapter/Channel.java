@@ -0,0 +1,65 @@
+package com.nativenavj.adapter;
+
+import com.nativenavj.domain.Axis;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Coalescing command channel with one latest-value-wins slot per axis.
+ * Controllers write without allocating; the handler thread takes each slot
+ * once per dispatch cycle, so memory stays bounded and stale commands are
+ * never replayed after fresher ones.
+ */
+public class Channel {
+    // NaN bit pattern that is never stored because non-finite values are dropped
+    private static final long EMPTY = -1L;
+
+    private final AtomicLongArray slot = new AtomicLongArray(Axis.values().length);
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public Channel() {
+        for (int i = 0; i < slot.length(); i++) {
+            slot.set(i, EMPTY);
+        }
+    }
+
+    /**
+     * Stores the newest value for the axis, replacing any value not yet taken.
+     */
+    public void write(Axis axis, double value) {
+        if (!Double.isFinite(value)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        long previous = slot.getAndSet(axis.ordinal(), Double.doubleToRawLongBits(value));
+        written.incrementAndGet();
+        if (previous != EMPTY) {
+            superseded.incrementAndGet();
+        }
+    }
+
+    /**
+     * Takes the pending value for the axis and empties the slot.
+     *
+     * @return the pending value, or NaN if nothing was written since the last take
+     */
+    public double take(Axis axis) {
+        long bits = slot.getAndSet(axis.ordinal(), EMPTY);
+        return bits == EMPTY ? Double.NaN : Double.longBitsToDouble(bits);
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getSuperseded() {
+        return superseded.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+}
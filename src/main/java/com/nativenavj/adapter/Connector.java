@@ -1,16 +1,17 @@
 package com.nativenavj.adapter;
 
+import com.nativenavj.domain.Axis;
 import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Recorder;
 import com.nativenavj.domain.State;
+import com.nativenavj.port.Aircraft;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.foreign.*;
-import java.lang.invoke.MethodHandles;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.foreign.ValueLayout.*;
 
@@ -18,43 +19,92 @@ import static java.lang.foreign.ValueLayout.*;
  * The Connector object that talks to the simulator.
  * Implements the Single Handler Thread and Non-Blocking Dispatcher patterns.
  */
-public class Connector {
+public class Connector implements Aircraft {
     private static final Logger log = LoggerFactory.getLogger(Connector.class);
-    private static final Linker LINKER = Linker.nativeLinker();
+
+    /**
+     * Dispatch mode of the handler thread.
+     * EVENT blocks until a message arrives or a command is queued, POLL sleeps
+     * for a fixed period between dispatch cycles.
+     */
+    public enum Mode {
+        EVENT,
+        POLL
+    }
+
+    /**
+     * Output path for actuator commands.
+     * EVENT transmits one client event per axis, DATA writes every axis with a
+     * single SetDataOnSimObject call from a reused native buffer.
+     */
+    public enum Output {
+        EVENT,
+        DATA
+    }
+
+    private static final long PERIOD = 20; // ms between cycles in POLL mode
+    private static final long TIMEOUT = 100; // ms maximum wait in EVENT mode
 
     private final Memory memory;
-    private final BlockingQueue<Consumer<MemorySegment>> commandQueue = new LinkedBlockingQueue<>();
+    private final Transport transport;
+    private final Mode mode;
+    private final Output output;
+    private final Receiver receiver = this::receive;
+    private final Channel channel = new Channel();
+    private final Gate gate;
+    private final MemorySegment control = Arena.ofAuto().allocate(CONTROL_LAYOUT);
+    private int known; // bit per axis that has been commanded at least once
     private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicInteger frames = new AtomicInteger(); // open frames, whose commit wakes the handler
     private Thread handlerThread;
 
-    // SimConnect Data Definition IDs
-    private static final int DEFINITION_STATE = 1;
+    // Handler statistics
+    private final AtomicLong wakeup = new AtomicLong();
+    private final AtomicLong timeout = new AtomicLong();
+    private final AtomicLong cycle = new AtomicLong();
+    private final AtomicLong latency = new AtomicLong();
+    private final AtomicLong maximum = new AtomicLong();
+
+    // SimConnect Data Definition IDs (telemetry uses one per Rate from DEFINITION_TELEMETRY)
+    private static final int DEFINITION_TELEMETRY = 1;
+    private static final int DEFINITION_CONTROL = 4;
+
+    // Telemetry definitions, layouts and decoder generated from the State record
+    private static final Schema SCHEMA = Schema.of(State.class, DEFINITION_TELEMETRY);
 
     // SimConnect Event IDs
     private static final int EVENT_ELEVATOR = 1;
     private static final int EVENT_AILERON = 2;
     private static final int EVENT_RUDDER = 3;
     private static final int EVENT_THROTTLE = 4;
+    private static final Axis[] AXES = Axis.values();
 
-    // Memory Layout for State data (matches State record order)
-    private static final GroupLayout STATE_LAYOUT = MemoryLayout.structLayout(
-            JAVA_DOUBLE.withName("latitude"),
-            JAVA_DOUBLE.withName("longitude"),
-            JAVA_DOUBLE.withName("heading"),
-            JAVA_DOUBLE.withName("altitude"),
-            JAVA_DOUBLE.withName("roll"),
-            JAVA_DOUBLE.withName("pitch"),
-            JAVA_DOUBLE.withName("yaw"),
-            JAVA_DOUBLE.withName("speed"),
-            JAVA_DOUBLE.withName("climb"),
-            JAVA_DOUBLE.withName("time"));
-
-    // Static registry for upcalls
-    private static Connector instance;
+    // Memory Layout for control data (matches Axis order)
+    private static final GroupLayout CONTROL_LAYOUT = MemoryLayout.structLayout(
+            JAVA_DOUBLE.withName("elevator"),
+            JAVA_DOUBLE.withName("aileron"),
+            JAVA_DOUBLE.withName("rudder"),
+            JAVA_DOUBLE.withName("throttle"));
+    private static final int ALL = (1 << AXES.length) - 1;
 
     public Connector(Memory memory) {
+        this(memory, new Session(), Mode.EVENT, Output.EVENT);
+    }
+
+    public Connector(Memory memory, Transport transport, Mode mode) {
+        this(memory, transport, mode, Output.EVENT);
+    }
+
+    public Connector(Memory memory, Transport transport, Mode mode, Output output) {
+        this(memory, transport, mode, output, new Gate());
+    }
+
+    public Connector(Memory memory, Transport transport, Mode mode, Output output, Gate gate) {
         this.memory = memory;
-        instance = this;
+        this.transport = transport;
+        this.mode = mode;
+        this.output = output;
+        this.gate = gate;
         start();
     }
 
@@ -69,6 +119,7 @@ public class Connector {
 
     public void stop() {
         running.set(false);
+        transport.signal();
         if (handlerThread != null) {
             try {
                 handlerThread.join(2000);
@@ -78,77 +129,157 @@ public class Connector {
         }
     }
 
+    public Channel getChannel() {
+        return channel;
+    }
+
+    public Statistics getStatistics() {
+        long cycles = cycle.get();
+        return new Statistics(wakeup.get(), timeout.get(), cycles,
+                cycles > 0 ? latency.get() / 1_000.0 / cycles : 0.0, maximum.get() / 1_000.0, gate.getSent(),
+                gate.getSuppressed());
+    }
+
     private void handlerLoop() {
-        try (Arena arena = Arena.ofShared()) {
-            MemorySegment phSimConnect = arena.allocate(ADDRESS);
-            int hr = SimConnect.open(phSimConnect, "NativeNavJ");
+        try {
+            int hr = transport.open("NativeNavJ");
             if (hr < 0) {
                 log.error("Failed to open SimConnect: {}", hr);
                 running.set(false);
                 return;
             }
-            MemorySegment hSimConnect = phSimConnect.get(ADDRESS, 0);
-            log.info("SimConnect opened successfully");
-
-            setupDefinitions(hSimConnect);
-            setupEvents(hSimConnect);
-
-            // Start receiving data
-            SimConnect.requestDataOnSimObject(hSimConnect, DEFINITION_STATE, DEFINITION_STATE,
-                    SimConnect.SIMCONNECT_OBJECT_ID_USER, SimConnect.SIMCONNECT_PERIOD_SIM_FRAME);
-
-            MemorySegment callbackStub = LINKER.upcallStub(
-                    MethodHandles.lookup().findStatic(Connector.class, "dispatchCallback",
-                            java.lang.invoke.MethodType.methodType(void.class, MemorySegment.class, int.class,
-                                    MemorySegment.class)),
-                    FunctionDescriptor.ofVoid(ADDRESS, JAVA_INT, ADDRESS),
-                    arena);
+            log.info("SimConnect opened successfully in {} mode with {} output", mode, output);
+
+            setupEvents();
+            if (output == Output.DATA) {
+                setupControls();
+            }
+
+            // Start receiving data: attitude every frame, navigation every second and
+            // slow variables only when they change by more than their epsilon
+            SCHEMA.register(transport);
+
+            long start = System.nanoTime();
             while (running.get()) {
-                // Process queued commands
-                Consumer<MemorySegment> command;
-                while ((command = commandQueue.poll()) != null) {
-                    command.accept(hSimConnect);
-                }
+                // Send the newest command of each axis
+                flush();
 
-                // Poll simulator messages
-                hr = SimConnect.callDispatch(hSimConnect, callbackStub, MemorySegment.NULL);
+                // Deliver pending simulator messages
+                hr = transport.dispatch(receiver);
                 if (hr < 0) {
                     log.error("SimConnect_CallDispatch failed: {}", hr);
                 }
-
-                Thread.sleep(20); // Poll every 20ms (~50Hz)
+                measure(System.nanoTime() - start);
+
+                // Wait for the next message or command
+                if (mode == Mode.EVENT) {
+                    if (transport.await(TIMEOUT)) {
+                        wakeup.incrementAndGet();
+                    } else {
+                        timeout.incrementAndGet();
+                    }
+                } else {
+                    Thread.sleep(PERIOD);
+                    wakeup.incrementAndGet();
+                }
+                start = System.nanoTime();
             }
-
-            SimConnect.close(hSimConnect);
-            log.info("SimConnect closed");
         } catch (Throwable t) {
             log.error("SimConnect handler thread error", t);
         } finally {
             running.set(false);
+            try {
+                transport.close();
+                log.info("SimConnect closed");
+            } catch (Throwable t) {
+                log.error("Failed to close SimConnect", t);
+            }
         }
     }
 
-    private void setupDefinitions(MemorySegment hSimConnect) throws Throwable {
-        check(SimConnect.addToDataDefinition(hSimConnect, DEFINITION_STATE, "PLANE LATITUDE", "degrees",
-                SimConnect.SIMCONNECT_DATATYPE_FLOAT64));
-        check(SimConnect.addToDataDefinition(hSimConnect, DEFINITION_STATE, "PLANE LONGITUDE", "degrees",
-                SimConnect.SIMCONNECT_DATATYPE_FLOAT64));
-        check(SimConnect.addToDataDefinition(hSimConnect, DEFINITION_STATE, "PLANE HEADING DEGREES TRUE", "degrees",
-                SimConnect.SIMCONNECT_DATATYPE_FLOAT64));
-        check(SimConnect.addToDataDefinition(hSimConnect, DEFINITION_STATE, "PLANE ALTITUDE", "feet",
-                SimConnect.SIMCONNECT_DATATYPE_FLOAT64));
-        check(SimConnect.addToDataDefinition(hSimConnect, DEFINITION_STATE, "PLANE BANK DEGREES", "degrees",
-                SimConnect.SIMCONNECT_DATATYPE_FLOAT64));
-        check(SimConnect.addToDataDefinition(hSimConnect, DEFINITION_STATE, "PLANE PITCH DEGREES", "degrees",
-                SimConnect.SIMCONNECT_DATATYPE_FLOAT64));
-        check(SimConnect.addToDataDefinition(hSimConnect, DEFINITION_STATE, "PLANE HEADING DEGREES MAGNETIC", "degrees",
-                SimConnect.SIMCONNECT_DATATYPE_FLOAT64));
-        check(SimConnect.addToDataDefinition(hSimConnect, DEFINITION_STATE, "AIRSPEED INDICATED", "knots",
-                SimConnect.SIMCONNECT_DATATYPE_FLOAT64));
-        check(SimConnect.addToDataDefinition(hSimConnect, DEFINITION_STATE, "VERTICAL SPEED", "feet per second",
-                SimConnect.SIMCONNECT_DATATYPE_FLOAT64));
-        check(SimConnect.addToDataDefinition(hSimConnect, DEFINITION_STATE, "ABSOLUTE TIME", "seconds",
-                SimConnect.SIMCONNECT_DATATYPE_FLOAT64));
+    private void flush() {
+        if (output == Output.DATA) {
+            flushData();
+            return;
+        }
+        long now = System.nanoTime();
+        for (Axis axis : AXES) {
+            double value = channel.take(axis);
+            if (!Double.isNaN(value)) {
+                memory.record(Recorder.Kind.COMMAND, axis.ordinal(), value);
+                gate.offer(axis, value);
+            }
+            if (gate.pass(axis, now)) {
+                transmit(axis, gate.get(axis));
+            }
+        }
+    }
+
+    private void flushData() {
+        long now = System.nanoTime();
+        boolean changed = false;
+        for (Axis axis : AXES) {
+            double value = channel.take(axis);
+            if (!Double.isNaN(value)) {
+                memory.record(Recorder.Kind.COMMAND, axis.ordinal(), value);
+                gate.offer(axis, value);
+            }
+            if (!gate.pass(axis, now))
+                continue;
+            value = gate.get(axis);
+            control.setAtIndex(JAVA_DOUBLE, axis.ordinal(), value);
+            known |= 1 << axis.ordinal();
+            changed = true;
+            // Fall back to events until every axis has a value worth writing
+            if (known != ALL) {
+                transmit(axis, value);
+            }
+        }
+        if (!changed || known != ALL)
+            return;
+        try {
+            transport.setDataOnSimObject(DEFINITION_CONTROL, SimConnect.SIMCONNECT_OBJECT_ID_USER, 0, 0,
+                    (int) CONTROL_LAYOUT.byteSize(), control);
+        } catch (Throwable t) {
+            log.error("Control data write failed", t);
+        }
+    }
+
+    private void transmit(Axis axis, double value) {
+        try {
+            int val = Gate.quantize(value);
+            transport.transmitClientEvent(SimConnect.SIMCONNECT_OBJECT_ID_USER, event(axis), val, GROUP_CONTROLS, 0);
+        } catch (Throwable t) {
+            log.error("{} command failed", axis, t);
+        }
+    }
+
+    private static int event(Axis axis) {
+        return switch (axis) {
+            case ELEVATOR -> EVENT_ELEVATOR;
+            case AILERON -> EVENT_AILERON;
+            case RUDDER -> EVENT_RUDDER;
+            case THROTTLE -> EVENT_THROTTLE;
+        };
+    }
+
+    private void measure(long elapsed) {
+        cycle.incrementAndGet();
+        latency.addAndGet(elapsed);
+        if (elapsed > maximum.get()) {
+            maximum.set(elapsed);
+        }
+    }
+
+    private void setupControls() throws Throwable {
+        check(transport.addToDataDefinition(DEFINITION_CONTROL, "ELEVATOR POSITION", "percent over 100",
+                SimConnect.SIMCONNECT_DATATYPE_FLOAT64, 0.0f, SimConnect.SIMCONNECT_UNUSED));
+        check(transport.addToDataDefinition(DEFINITION_CONTROL, "AILERON POSITION", "percent over 100",
+                SimConnect.SIMCONNECT_DATATYPE_FLOAT64, 0.0f, SimConnect.SIMCONNECT_UNUSED));
+        check(transport.addToDataDefinition(DEFINITION_CONTROL, "RUDDER POSITION", "percent over 100",
+                SimConnect.SIMCONNECT_DATATYPE_FLOAT64, 0.0f, SimConnect.SIMCONNECT_UNUSED));
+        check(transport.addToDataDefinition(DEFINITION_CONTROL, "GENERAL ENG THROTTLE LEVER POSITION:1",
+                "percent over 100", SimConnect.SIMCONNECT_DATATYPE_FLOAT64, 0.0f, SimConnect.SIMCONNECT_UNUSED));
     }
 
     private void check(int hr) {
@@ -159,28 +290,24 @@ public class Connector {
     // SimConnect Group IDs
     private static final int GROUP_CONTROLS = 1;
 
-    private void setupEvents(MemorySegment hSimConnect) throws Throwable {
-        SimConnect.mapClientEventToSimEvent(hSimConnect, EVENT_ELEVATOR, "ELEVATOR_SET");
-        SimConnect.mapClientEventToSimEvent(hSimConnect, EVENT_AILERON, "AILERON_SET");
-        SimConnect.mapClientEventToSimEvent(hSimConnect, EVENT_RUDDER, "RUDDER_SET");
-        SimConnect.mapClientEventToSimEvent(hSimConnect, EVENT_THROTTLE, "THROTTLE_SET");
+    private void setupEvents() throws Throwable {
+        transport.mapClientEventToSimEvent(EVENT_ELEVATOR, "ELEVATOR_SET");
+        transport.mapClientEventToSimEvent(EVENT_AILERON, "AILERON_SET");
+        transport.mapClientEventToSimEvent(EVENT_RUDDER, "RUDDER_SET");
+        transport.mapClientEventToSimEvent(EVENT_THROTTLE, "THROTTLE_SET");
 
         // Add events to a notification group (required for some transmission cases)
-        SimConnect.addClientEventToNotificationGroup(hSimConnect, GROUP_CONTROLS, EVENT_ELEVATOR, 0);
-        SimConnect.addClientEventToNotificationGroup(hSimConnect, GROUP_CONTROLS, EVENT_AILERON, 0);
-        SimConnect.addClientEventToNotificationGroup(hSimConnect, GROUP_CONTROLS, EVENT_RUDDER, 0);
-        SimConnect.addClientEventToNotificationGroup(hSimConnect, GROUP_CONTROLS, EVENT_THROTTLE, 0);
+        transport.addClientEventToNotificationGroup(GROUP_CONTROLS, EVENT_ELEVATOR, 0);
+        transport.addClientEventToNotificationGroup(GROUP_CONTROLS, EVENT_AILERON, 0);
+        transport.addClientEventToNotificationGroup(GROUP_CONTROLS, EVENT_RUDDER, 0);
+        transport.addClientEventToNotificationGroup(GROUP_CONTROLS, EVENT_THROTTLE, 0);
 
         // Set priority so the simulator processes them immediately
-        SimConnect.setNotificationGroupPriority(hSimConnect, GROUP_CONTROLS,
-                SimConnect.SIMCONNECT_GROUP_PRIORITY_HIGHEST);
+        transport.setNotificationGroupPriority(GROUP_CONTROLS, SimConnect.SIMCONNECT_GROUP_PRIORITY_HIGHEST);
     }
 
-    private static void dispatchCallback(MemorySegment pData, int cbData, MemorySegment pContext) {
-        if (instance == null)
-            return;
-
-        MemorySegment segment = pData.reinterpret(cbData);
+    private void receive(MemorySegment segment) {
+        int cbData = (int) segment.byteSize();
         int dwSize = segment.get(JAVA_INT, 0);
         int dwVersion = segment.get(JAVA_INT, 4);
         int dwID = segment.get(JAVA_INT, 8);
@@ -195,17 +322,13 @@ public class Connector {
         }
 
         if (dwID == SimConnect.SIMCONNECT_RECV_ID_SIMOBJECT_DATA) {
-            int expectedSize = 40 + (int) STATE_LAYOUT.byteSize();
-            if (dwSize < expectedSize) {
-                log.warn("Ignoring SimObject data packet: size {} < expected {}", dwSize, expectedSize);
-                return;
-            }
             try {
-                // Header(12) + Fields(28) = 40 bytes offset to data
-                MemorySegment dataSegment = segment.asSlice(40, STATE_LAYOUT.byteSize());
-                instance.updateState(dataSegment);
-            } catch (Exception e) {
-                log.error("Failed to update state from SimConnect data", e);
+                if (!SCHEMA.decode(segment, memory.getTelemetry())) {
+                    log.warn("Ignoring SimObject data packet: request {} size {}", segment.get(JAVA_INT, 12),
+                            dwSize);
+                }
+            } catch (Throwable t) {
+                log.error("Failed to update state from SimConnect data", t);
             }
         } else if (dwID == SimConnect.SIMCONNECT_RECV_ID_OPEN) {
             log.info("SimConnect: Connected to simulator (Version: {})", dwVersion);
@@ -216,71 +339,53 @@ public class Connector {
             log.error("SimConnect Exception Code: {} at SendID {} index {}", dwException, dwSendID, dwIndex);
         } else if (dwID == SimConnect.SIMCONNECT_RECV_ID_QUIT) {
             log.info("SimConnect: Simulator quit");
-            instance.running.set(false);
+            running.set(false);
         }
     }
 
-    private void updateState(MemorySegment data) {
-        State newState = new State(
-                data.get(JAVA_DOUBLE, 0), // latitude
-                data.get(JAVA_DOUBLE, 8), // longitude
-                data.get(JAVA_DOUBLE, 16), // heading
-                data.get(JAVA_DOUBLE, 24), // altitude
-                data.get(JAVA_DOUBLE, 32), // roll
-                data.get(JAVA_DOUBLE, 40), // pitch
-                data.get(JAVA_DOUBLE, 48), // yaw (actually magnetic heading here)
-                data.get(JAVA_DOUBLE, 56), // speed
-                data.get(JAVA_DOUBLE, 64), // climb
-                data.get(JAVA_DOUBLE, 72) // time
-        );
-        memory.setState(newState);
-    }
-
+    @Override
     public void setElevator(double value) {
-        commandQueue.offer(h -> {
-            try {
-                int val = (int) (value * 16383);
-                SimConnect.transmitClientEvent(h, SimConnect.SIMCONNECT_OBJECT_ID_USER, EVENT_ELEVATOR, val,
-                        GROUP_CONTROLS, 0);
-            } catch (Throwable t) {
-                log.error("Elevator command failed", t);
-            }
-        });
+        channel.write(Axis.ELEVATOR, value);
+        if (frames.get() == 0)
+            transport.signal();
     }
 
+    @Override
     public void setAileron(double value) {
-        commandQueue.offer(h -> {
-            try {
-                int val = (int) (value * 16383);
-                SimConnect.transmitClientEvent(h, SimConnect.SIMCONNECT_OBJECT_ID_USER, EVENT_AILERON, val,
-                        GROUP_CONTROLS, 0);
-            } catch (Throwable t) {
-                log.error("Aileron command failed", t);
-            }
-        });
+        channel.write(Axis.AILERON, value);
+        if (frames.get() == 0)
+            transport.signal();
     }
 
+    @Override
     public void setRudder(double value) {
-        commandQueue.offer(h -> {
-            try {
-                int val = (int) (value * 16383);
-                SimConnect.transmitClientEvent(h, SimConnect.SIMCONNECT_OBJECT_ID_USER, EVENT_RUDDER, val,
-                        GROUP_CONTROLS, 0);
-            } catch (Throwable t) {
-                log.error("Rudder command failed", t);
-            }
-        });
+        channel.write(Axis.RUDDER, value);
+        if (frames.get() == 0)
+            transport.signal();
     }
 
+    @Override
     public void setThrottle(double value) {
-        commandQueue.offer(h -> {
-            try {
-                int val = (int) (value * 16383);
-                SimConnect.transmitClientEvent(h, SimConnect.SIMCONNECT_OBJECT_ID_USER, EVENT_THROTTLE, val,
-                        GROUP_CONTROLS, 0);
-            } catch (Throwable t) {
-                log.error("Throttle command failed", t);
-            }
-        });
+        channel.write(Axis.THROTTLE, value);
+        if (frames.get() == 0)
+            transport.signal();
+    }
+
+    /**
+     * Opens a frame: setters leave the wake-up to its commit. Outside a frame
+     * every setter wakes the handler itself.
+     */
+    @Override
+    public void begin() {
+        frames.incrementAndGet();
+    }
+
+    /**
+     * Closes a frame and wakes the handler once for every axis set in it, so all of them go out in one flush.
+     */
+    @Override
+    public void commit() {
+        frames.getAndUpdate(open -> Math.max(0, open - 1));
+        transport.signal();
     }
 }
@@ -0,0 +1,22 @@
+package com.nativenavj.adapter;
+
+/**
+ * Perturbation of the Airframe model for robustness runs.
+ *
+ * @param wind       the wind speed in knots
+ * @param direction  the direction the wind blows from in degrees
+ * @param turbulence the standard deviation of the random roll and pitch rates in deg/s
+ * @param mass       the mass relative to the nominal aircraft
+ * @param noise      the standard deviation of the sensor noise on attitudes (deg) and airspeed (kts)
+ * @param seed       the seed of the random turbulence and noise
+ */
+public record Disturbance(
+        double wind,
+        double direction,
+        double turbulence,
+        double mass,
+        double noise,
+        long seed) {
+
+    public static final Disturbance NONE = new Disturbance(0, 0, 0, 1, 0, 0);
+}
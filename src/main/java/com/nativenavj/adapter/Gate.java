@@ -0,0 +1,124 @@
+package com.nativenavj.adapter;
+
+import com.nativenavj.domain.Axis;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-axis output suppression in front of the simulator.
+ * A command only goes out when its quantized surface position moved by more
+ * than the deadband and the minimum resend interval has passed; the last
+ * value is sent again after the refresh period even when it did not move.
+ * Used by the handler thread only, except for the counters.
+ */
+public class Gate {
+    public static final int RESOLUTION = 16383; // event steps for a full deflection
+
+    private static final Axis[] AXES = Axis.values();
+
+    private final int[] deadband;
+    private final long interval;
+    private final long refresh;
+
+    private final double[] latest = new double[AXES.length];
+    private final int[] position = new int[AXES.length];
+    private final long[] time = new long[AXES.length];
+    private int sent; // bit per axis that went out at least once
+    private int fresh; // bit per axis with an offered value not yet sent or suppressed
+
+    private final AtomicLong transmitted = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    /**
+     * Passes every command that changes the surface position.
+     */
+    public Gate() {
+        this(0, 0, 1000);
+    }
+
+    /**
+     * @param deadband the change in event steps that is still suppressed, for every axis
+     * @param interval the minimum time in ms between two sends of an axis
+     * @param refresh  the time in ms after which the last value is sent again
+     */
+    public Gate(int deadband, long interval, long refresh) {
+        this(new int[] { deadband, deadband, deadband, deadband }, interval, refresh);
+    }
+
+    /**
+     * @param deadband the change in event steps that is still suppressed, by Axis ordinal
+     */
+    public Gate(int[] deadband, long interval, long refresh) {
+        if (deadband.length != AXES.length)
+            throw new IllegalArgumentException("Expected a deadband per axis");
+        this.deadband = deadband.clone();
+        this.interval = interval * 1_000_000;
+        this.refresh = refresh * 1_000_000;
+    }
+
+    /**
+     * Stores the newest command of an axis. A value offered before the
+     * previous one went out replaces it and counts as suppressed.
+     */
+    public void offer(Axis axis, double value) {
+        int bit = 1 << axis.ordinal();
+        if ((fresh & bit) != 0) {
+            suppressed.incrementAndGet();
+        }
+        latest[axis.ordinal()] = value;
+        fresh |= bit;
+    }
+
+    /**
+     * Decides whether the latest value of an axis goes out now and marks it sent if so.
+     *
+     * @param now the current System.nanoTime
+     */
+    public boolean pass(Axis axis, long now) {
+        int index = axis.ordinal();
+        int bit = 1 << index;
+        boolean known = (sent & bit) != 0;
+        if (!known && (fresh & bit) == 0)
+            return false;
+
+        boolean due = !known || now - time[index] >= refresh;
+        if (!due && (fresh & bit) != 0) {
+            if (Math.abs(quantize(latest[index]) - position[index]) <= deadband[index]) {
+                // Within the deadband: the surface would not move
+                fresh &= ~bit;
+                suppressed.incrementAndGet();
+                return false;
+            }
+            // Held until the interval has passed
+            due = now - time[index] >= interval;
+        }
+        if (!due)
+            return false;
+
+        position[index] = quantize(latest[index]);
+        time[index] = now;
+        sent |= bit;
+        fresh &= ~bit;
+        transmitted.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Returns the latest value offered for an axis.
+     */
+    public double get(Axis axis) {
+        return latest[axis.ordinal()];
+    }
+
+    public long getSent() {
+        return transmitted.get();
+    }
+
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+
+    public static int quantize(double value) {
+        return (int) (value * RESOLUTION);
+    }
+}
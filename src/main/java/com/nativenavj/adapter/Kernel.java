@@ -0,0 +1,57 @@
+package com.nativenavj.adapter;
+
+import java.lang.foreign.*;
+import java.lang.invoke.MethodHandle;
+
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * Minimal Project Panama bindings for the Win32 event functions in kernel32.dll.
+ */
+public class Kernel {
+        private static final Linker LINKER = Linker.nativeLinker();
+        private static final SymbolLookup LOOKUP = SymbolLookup.libraryLookup("kernel32", Arena.global());
+
+        private static final MethodHandle CREATE_EVENT = LOOKUP.find("CreateEventW")
+                        .map(symbol -> LINKER.downcallHandle(symbol,
+                                        FunctionDescriptor.of(ADDRESS, ADDRESS, JAVA_INT, JAVA_INT, ADDRESS)))
+                        .orElseThrow();
+
+        private static final MethodHandle SET_EVENT = LOOKUP.find("SetEvent")
+                        .map(symbol -> LINKER.downcallHandle(symbol,
+                                        FunctionDescriptor.of(JAVA_INT, ADDRESS)))
+                        .orElseThrow();
+
+        private static final MethodHandle WAIT_FOR_SINGLE_OBJECT = LOOKUP.find("WaitForSingleObject")
+                        .map(symbol -> LINKER.downcallHandle(symbol,
+                                        FunctionDescriptor.of(JAVA_INT, ADDRESS, JAVA_INT)))
+                        .orElseThrow();
+
+        private static final MethodHandle CLOSE_HANDLE = LOOKUP.find("CloseHandle")
+                        .map(symbol -> LINKER.downcallHandle(symbol,
+                                        FunctionDescriptor.of(JAVA_INT, ADDRESS)))
+                        .orElseThrow();
+
+        // Wait Results
+        public static final int WAIT_OBJECT_0 = 0;
+        public static final int WAIT_TIMEOUT = 0x102;
+
+        /**
+         * Creates an unnamed auto-reset event in the non-signalled state.
+         */
+        public static MemorySegment createEvent() throws Throwable {
+                return (MemorySegment) CREATE_EVENT.invokeExact(MemorySegment.NULL, 0, 0, MemorySegment.NULL);
+        }
+
+        public static int setEvent(MemorySegment hEvent) throws Throwable {
+                return (int) SET_EVENT.invokeExact(hEvent);
+        }
+
+        public static int waitForSingleObject(MemorySegment hHandle, int dwMilliseconds) throws Throwable {
+                return (int) WAIT_FOR_SINGLE_OBJECT.invokeExact(hHandle, dwMilliseconds);
+        }
+
+        public static int closeHandle(MemorySegment hObject) throws Throwable {
+                return (int) CLOSE_HANDLE.invokeExact(hObject);
+        }
+}
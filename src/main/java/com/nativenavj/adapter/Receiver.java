@@ -0,0 +1,16 @@
+package com.nativenavj.adapter;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Callback for raw simulator messages delivered by a Transport.
+ */
+@FunctionalInterface
+public interface Receiver {
+    /**
+     * Receives a single message.
+     *
+     * @param message the message bytes, starting with the SIMCONNECT_RECV header
+     */
+    void receive(MemorySegment message);
+}
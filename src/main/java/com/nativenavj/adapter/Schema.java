@@ -0,0 +1,177 @@
+package com.nativenavj.adapter;
+
+import com.nativenavj.domain.Rate;
+import com.nativenavj.domain.Telemetry;
+import com.nativenavj.domain.Variable;
+
+import java.lang.foreign.GroupLayout;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.foreign.MemoryLayout.PathElement.groupElement;
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * Telemetry schema generated from the Variable annotations on a record.
+ * Produces one SimConnect data definition and GroupLayout per Rate and a
+ * decoder composed once from VarHandles, so decoding a message is a
+ * straight-line sequence of reads without reflection.
+ *
+ * @param first   the data definition ID of the first rate
+ * @param datum   the annotated components in declaration order
+ * @param layout  the layout of each positional group
+ * @param decoder (int group, Telemetry, MemorySegment) void
+ */
+public record Schema(int first, List<Datum> datum, Map<Rate, GroupLayout> layout, MethodHandle decoder) {
+
+    // Header(12) + Fields(28) = 40 bytes offset to data
+    public static final long HEADER = 40;
+    // Tagged data entry: datum ID followed by the packed value
+    private static final long TAG = JAVA_INT.byteSize() + JAVA_DOUBLE.byteSize();
+    private static final Rate[] RATES = Rate.values();
+
+    /**
+     * A single simulator variable and its Telemetry field index.
+     */
+    public record Datum(int index, String name, String unit, Rate rate, float epsilon) {
+    }
+
+    public static Schema of(Class<? extends Record> type, int first) {
+        RecordComponent[] components = type.getRecordComponents();
+        List<Datum> datum = new ArrayList<>();
+        Map<Rate, List<String>> names = new EnumMap<>(Rate.class);
+        for (int i = 0; i < components.length; i++) {
+            Variable variable = components[i].getAnnotation(Variable.class);
+            if (variable == null)
+                throw new IllegalArgumentException("Missing @Variable on " + components[i].getName());
+            datum.add(new Datum(i, variable.name(), variable.unit(), variable.rate(), variable.epsilon()));
+            names.computeIfAbsent(variable.rate(), rate -> new ArrayList<>()).add(components[i].getName());
+        }
+
+        Map<Rate, GroupLayout> layout = new EnumMap<>(Rate.class);
+        for (Map.Entry<Rate, List<String>> entry : names.entrySet()) {
+            layout.put(entry.getKey(), MemoryLayout.structLayout(entry.getValue().stream()
+                    .map(name -> JAVA_DOUBLE.withName(name))
+                    .toArray(MemoryLayout[]::new)));
+        }
+
+        try {
+            return new Schema(first, List.copyOf(datum), layout, compile(datum, layout));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to compile telemetry decoder", e);
+        }
+    }
+
+    public int definition(Rate rate) {
+        return first + rate.ordinal();
+    }
+
+    /**
+     * Registers the data definitions and requests every group at its rate.
+     */
+    public void register(Transport transport) throws Throwable {
+        for (Datum entry : datum) {
+            check(transport.addToDataDefinition(definition(entry.rate()), entry.name(), entry.unit(),
+                    SimConnect.SIMCONNECT_DATATYPE_FLOAT64, entry.epsilon(), entry.index()));
+        }
+        for (Rate rate : layout.keySet()) {
+            check(transport.requestDataOnSimObject(definition(rate), definition(rate),
+                    SimConnect.SIMCONNECT_OBJECT_ID_USER, period(rate), flags(rate)));
+        }
+    }
+
+    /**
+     * Decodes a SIMCONNECT_RECV_SIMOBJECT_DATA message into the telemetry block.
+     * Only the FRAME group publishes; the other groups are staged.
+     *
+     * @return false if the message does not belong to this schema or is too short
+     */
+    public boolean decode(MemorySegment message, Telemetry telemetry) throws Throwable {
+        int group = message.get(JAVA_INT, 12) - first;
+        if (group < 0 || group >= RATES.length)
+            return false;
+        GroupLayout groupLayout = layout.get(RATES[group]);
+        if (groupLayout == null)
+            return false;
+        long size = RATES[group] == Rate.CHANGE ? message.get(JAVA_INT, 36) * TAG : groupLayout.byteSize();
+        if (message.get(JAVA_INT, 0) < HEADER + size || message.byteSize() < HEADER + size)
+            return false;
+        decoder.invokeExact(group, telemetry, message);
+        return true;
+    }
+
+    private static MethodHandle compile(List<Datum> datum, Map<Rate, GroupLayout> layout)
+            throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType step = MethodType.methodType(void.class, Telemetry.class, MemorySegment.class);
+        MethodHandle set = lookup.findVirtual(Telemetry.class, "set",
+                MethodType.methodType(void.class, int.class, double.class));
+        MethodHandle publish = MethodHandles.dropArguments(
+                lookup.findVirtual(Telemetry.class, "publish", MethodType.methodType(void.class)), 1,
+                MemorySegment.class);
+        MethodHandle tagged = lookup.findStatic(Schema.class, "tagged", step);
+
+        MethodHandle[] cases = new MethodHandle[RATES.length];
+        for (Rate rate : RATES) {
+            GroupLayout group = layout.get(rate);
+            MethodHandle chain;
+            if (group == null) {
+                chain = MethodHandles.empty(step);
+            } else if (rate == Rate.CHANGE) {
+                chain = tagged;
+            } else {
+                // Build set(index, value) steps back to front, FRAME ends with a publish
+                chain = rate == Rate.FRAME ? publish : MethodHandles.empty(step);
+                List<Datum> members = datum.stream().filter(entry -> entry.rate() == rate).toList();
+                for (int i = members.size() - 1; i >= 0; i--) {
+                    MemoryLayout.PathElement path = groupElement(group.memberLayouts().get(i).name().orElseThrow());
+                    VarHandle handle = JAVA_DOUBLE_UNALIGNED.varHandle();
+                    MethodHandle read = MethodHandles.insertCoordinates(handle, 1, HEADER + group.byteOffset(path))
+                            .toMethodHandle(VarHandle.AccessMode.GET);
+                    MethodHandle write = MethodHandles.filterArguments(
+                            MethodHandles.insertArguments(set, 1, members.get(i).index()), 1, read);
+                    chain = MethodHandles.foldArguments(chain, write);
+                }
+            }
+            cases[rate.ordinal()] = MethodHandles.dropArguments(chain, 0, int.class);
+        }
+        return MethodHandles.tableSwitch(MethodHandles.dropArguments(MethodHandles.empty(step), 0, int.class),
+                cases);
+    }
+
+    private static void tagged(Telemetry telemetry, MemorySegment message) {
+        int count = message.get(JAVA_INT, 36);
+        for (int i = 0; i < count; i++) {
+            long offset = HEADER + i * TAG;
+            telemetry.set(message.get(JAVA_INT_UNALIGNED, offset),
+                    message.get(JAVA_DOUBLE_UNALIGNED, offset + JAVA_INT.byteSize()));
+        }
+    }
+
+    private static int period(Rate rate) {
+        return switch (rate) {
+            case FRAME, CHANGE -> SimConnect.SIMCONNECT_PERIOD_SIM_FRAME;
+            case SECOND -> SimConnect.SIMCONNECT_PERIOD_SECOND;
+        };
+    }
+
+    private static int flags(Rate rate) {
+        return rate == Rate.CHANGE
+                ? SimConnect.SIMCONNECT_DATA_REQUEST_FLAG_CHANGED | SimConnect.SIMCONNECT_DATA_REQUEST_FLAG_TAGGED
+                : 0;
+    }
+
+    private static void check(int hr) {
+        if (hr < 0)
+            throw new RuntimeException("SimConnect call failed with HRESULT " + hr);
+    }
+}
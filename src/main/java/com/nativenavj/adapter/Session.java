@@ -0,0 +1,138 @@
+package com.nativenavj.adapter;
+
+import java.lang.foreign.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * Native Transport backed by SimConnect.dll.
+ * Opens SimConnect with a Win32 event handle so the handler thread can block
+ * until a message arrives instead of sleeping on a fixed timer.
+ */
+public class Session implements Transport {
+    private static final Linker LINKER = Linker.nativeLinker();
+
+    private Arena arena;
+    private MemorySegment handle;
+    private MemorySegment stub;
+    private volatile MemorySegment event;
+    private Receiver receiver;
+
+    @Override
+    public int open(String name) throws Throwable {
+        arena = Arena.ofShared();
+        event = Kernel.createEvent();
+        MemorySegment phSimConnect = arena.allocate(ADDRESS);
+        int hr;
+        try {
+            hr = SimConnect.open(phSimConnect, name, event);
+        } catch (Throwable t) {
+            release();
+            throw t;
+        }
+        if (hr < 0) {
+            release();
+            return hr;
+        }
+        handle = phSimConnect.get(ADDRESS, 0);
+        stub = LINKER.upcallStub(
+                MethodHandles.lookup().findVirtual(Session.class, "callback",
+                        MethodType.methodType(void.class, MemorySegment.class, int.class, MemorySegment.class))
+                        .bindTo(this),
+                FunctionDescriptor.ofVoid(ADDRESS, JAVA_INT, ADDRESS),
+                arena);
+        return hr;
+    }
+
+    @Override
+    public int close() throws Throwable {
+        int hr = handle != null ? SimConnect.close(handle) : 0;
+        handle = null;
+        release();
+        return hr;
+    }
+
+    /**
+     * Closes the Win32 event and frees the arena. Safe to call more than once.
+     */
+    private void release() throws Throwable {
+        MemorySegment current = event;
+        event = null;
+        Arena owned = arena;
+        arena = null;
+        try {
+            if (current != null)
+                Kernel.closeHandle(current);
+        } finally {
+            if (owned != null)
+                owned.close();
+        }
+    }
+
+    @Override
+    public int dispatch(Receiver receiver) throws Throwable {
+        this.receiver = receiver;
+        return SimConnect.callDispatch(handle, stub, MemorySegment.NULL);
+    }
+
+    @Override
+    public boolean await(long timeout) throws Throwable {
+        return Kernel.waitForSingleObject(event, (int) timeout) == Kernel.WAIT_OBJECT_0;
+    }
+
+    @Override
+    public void signal() {
+        MemorySegment current = event;
+        if (current == null)
+            return;
+        try {
+            Kernel.setEvent(current);
+        } catch (Throwable t) {
+            throw new IllegalStateException("SetEvent failed", t);
+        }
+    }
+
+    @Override
+    public int addToDataDefinition(int definition, String datum, String unit, int type, float epsilon,
+            int identifier) throws Throwable {
+        return SimConnect.addToDataDefinition(handle, definition, datum, unit, type, epsilon, identifier);
+    }
+
+    @Override
+    public int requestDataOnSimObject(int request, int definition, int object, int period, int flags)
+            throws Throwable {
+        return SimConnect.requestDataOnSimObject(handle, request, definition, object, period, flags, 0, 0, 0);
+    }
+
+    @Override
+    public int setDataOnSimObject(int definition, int object, int flags, int count, int size, MemorySegment data)
+            throws Throwable {
+        return SimConnect.setDataOnSimObject(handle, definition, object, flags, count, size, data);
+    }
+
+    @Override
+    public int mapClientEventToSimEvent(int event, String name) throws Throwable {
+        return SimConnect.mapClientEventToSimEvent(handle, event, name);
+    }
+
+    @Override
+    public int transmitClientEvent(int object, int event, int data, int group, int flags) throws Throwable {
+        return SimConnect.transmitClientEvent(handle, object, event, data, group, flags);
+    }
+
+    @Override
+    public int addClientEventToNotificationGroup(int group, int event, int maskable) throws Throwable {
+        return SimConnect.addClientEventToNotificationGroup(handle, group, event, maskable);
+    }
+
+    @Override
+    public int setNotificationGroupPriority(int group, int priority) throws Throwable {
+        return SimConnect.setNotificationGroupPriority(handle, group, priority);
+    }
+
+    private void callback(MemorySegment pData, int cbData, MemorySegment pContext) {
+        receiver.receive(pData.reinterpret(cbData));
+    }
+}
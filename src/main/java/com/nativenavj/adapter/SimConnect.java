@@ -48,6 +48,12 @@ public class SimConnect {
                                                         JAVA_INT, JAVA_INT)))
                         .orElseThrow();
 
+        private static final MethodHandle SET_DATA_ON_SIM_OBJECT = LOOKUP.find("SimConnect_SetDataOnSimObject")
+                        .map(symbol -> LINKER.downcallHandle(symbol,
+                                        FunctionDescriptor.of(JAVA_INT, ADDRESS, JAVA_INT, JAVA_INT, JAVA_INT, JAVA_INT,
+                                                        JAVA_INT, ADDRESS)))
+                        .orElseThrow();
+
         private static final MethodHandle MAP_CLIENT_EVENT_TO_SIM_EVENT = LOOKUP
                         .find("SimConnect_MapClientEventToSimEvent")
                         .map(symbol -> LINKER.downcallHandle(symbol,
@@ -79,6 +85,10 @@ public class SimConnect {
         public static final int SIMCONNECT_PERIOD_SECOND = 4;
         public static final int SIMCONNECT_GROUP_PRIORITY_HIGHEST = 1;
 
+        // Data Request Flags
+        public static final int SIMCONNECT_DATA_REQUEST_FLAG_CHANGED = 1;
+        public static final int SIMCONNECT_DATA_REQUEST_FLAG_TAGGED = 2;
+
         // Recv IDs
         public static final int SIMCONNECT_RECV_ID_EXCEPTION = 1;
         public static final int SIMCONNECT_RECV_ID_OPEN = 2;
@@ -90,10 +100,15 @@ public class SimConnect {
         public static final int SIMCONNECT_DATATYPE_FLOAT64 = 4;
 
         public static int open(MemorySegment phSimConnect, String szName) throws Throwable {
+                return open(phSimConnect, szName, MemorySegment.NULL);
+        }
+
+        public static int open(MemorySegment phSimConnect, String szName, MemorySegment hEventHandle)
+                        throws Throwable {
                 try (Arena arena = Arena.ofConfined()) {
                         MemorySegment nameSegment = arena.allocateFrom(szName);
                         return (int) OPEN.invokeExact(phSimConnect, nameSegment, MemorySegment.NULL, 0,
-                                        MemorySegment.NULL, 0);
+                                        hEventHandle, 0);
                 }
         }
 
@@ -108,21 +123,38 @@ public class SimConnect {
 
         public static int addToDataDefinition(MemorySegment hSimConnect, int DefineID, String szDatumName,
                         String szUnitsName, int DatumType) throws Throwable {
+                return addToDataDefinition(hSimConnect, DefineID, szDatumName, szUnitsName, DatumType, 0.0f,
+                                SIMCONNECT_UNUSED);
+        }
+
+        public static int addToDataDefinition(MemorySegment hSimConnect, int DefineID, String szDatumName,
+                        String szUnitsName, int DatumType, float fEpsilon, int DatumID) throws Throwable {
                 try (Arena arena = Arena.ofConfined()) {
                         MemorySegment datumName = arena.allocateFrom(szDatumName);
                         MemorySegment unitsName = szUnitsName != null ? arena.allocateFrom(szUnitsName)
                                         : MemorySegment.NULL;
                         return (int) ADD_TO_DATA_DEFINITION.invokeExact(hSimConnect, DefineID, datumName, unitsName,
                                         DatumType,
-                                        0.0f, SIMCONNECT_UNUSED);
+                                        fEpsilon, DatumID);
                 }
         }
 
         public static int requestDataOnSimObject(MemorySegment hSimConnect, int RequestID, int DefineID, int ObjectID,
                         int Period) throws Throwable {
+                return requestDataOnSimObject(hSimConnect, RequestID, DefineID, ObjectID, Period, 0, 0, 0, 0);
+        }
+
+        public static int requestDataOnSimObject(MemorySegment hSimConnect, int RequestID, int DefineID, int ObjectID,
+                        int Period, int Flags, int origin, int interval, int limit) throws Throwable {
                 return (int) REQUEST_DATA_ON_SIM_OBJECT.invokeExact(hSimConnect, RequestID, DefineID, ObjectID, Period,
-                                0, 0, 0,
-                                0);
+                                Flags, origin, interval,
+                                limit);
+        }
+
+        public static int setDataOnSimObject(MemorySegment hSimConnect, int DefineID, int ObjectID, int Flags,
+                        int ArrayCount, int cbUnitSize, MemorySegment pDataSet) throws Throwable {
+                return (int) SET_DATA_ON_SIM_OBJECT.invokeExact(hSimConnect, DefineID, ObjectID, Flags, ArrayCount,
+                                cbUnitSize, pDataSet);
         }
 
         public static int mapClientEventToSimEvent(MemorySegment hSimConnect, int EventID, String szEventName)
@@ -0,0 +1,22 @@
+package com.nativenavj.adapter;
+
+/**
+ * Snapshot of the Connector handler loop activity.
+ *
+ * @param wakeup     number of times the handler was woken by a message or a command
+ * @param timeout    number of waits that expired without a wake-up
+ * @param cycle      number of completed dispatch cycles
+ * @param latency    mean dispatch latency in microseconds (wake-up to cycle end)
+ * @param maximum    maximum dispatch latency in microseconds
+ * @param sent       number of commands that crossed into the simulator
+ * @param suppressed number of commands the Gate held back
+ */
+public record Statistics(
+        long wakeup,
+        long timeout,
+        long cycle,
+        double latency,
+        double maximum,
+        long sent,
+        long suppressed) {
+}
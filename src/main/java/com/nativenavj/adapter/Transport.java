@@ -0,0 +1,61 @@
+package com.nativenavj.adapter;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Transport port between the Connector and a SimConnect backend.
+ * The native implementation is the Session; tests use a stub backend.
+ * All methods except signal are called from the Connector handler thread only.
+ */
+public interface Transport {
+    /**
+     * Opens the connection to the simulator.
+     *
+     * @return the HRESULT of the call
+     */
+    int open(String name) throws Throwable;
+
+    /**
+     * Closes the connection to the simulator.
+     *
+     * @return the HRESULT of the call
+     */
+    int close() throws Throwable;
+
+    /**
+     * Delivers every pending simulator message to the receiver.
+     *
+     * @return the HRESULT of the call
+     */
+    int dispatch(Receiver receiver) throws Throwable;
+
+    /**
+     * Blocks until a simulator message arrives, the transport is signalled or the
+     * timeout expires.
+     *
+     * @param timeout the maximum wait in milliseconds
+     * @return true when woken by a message or a signal, false on timeout
+     */
+    boolean await(long timeout) throws Throwable;
+
+    /**
+     * Wakes the handler thread blocked in await. Safe to call from any thread.
+     */
+    void signal();
+
+    int addToDataDefinition(int definition, String datum, String unit, int type, float epsilon, int identifier)
+            throws Throwable;
+
+    int requestDataOnSimObject(int request, int definition, int object, int period, int flags) throws Throwable;
+
+    int setDataOnSimObject(int definition, int object, int flags, int count, int size, MemorySegment data)
+            throws Throwable;
+
+    int mapClientEventToSimEvent(int event, String name) throws Throwable;
+
+    int transmitClientEvent(int object, int event, int data, int group, int flags) throws Throwable;
+
+    int addClientEventToNotificationGroup(int group, int event, int maskable) throws Throwable;
+
+    int setNotificationGroupPriority(int group, int priority) throws Throwable;
+}
@@ -1,9 +1,12 @@
 package com.nativenavj.ai;
 
+import com.nativenavj.domain.Database;
 import com.nativenavj.domain.Goal;
 import com.nativenavj.domain.Memory;
 import com.nativenavj.domain.Navigator;
 import com.nativenavj.domain.Shell;
+import com.nativenavj.domain.Sphere;
+import com.nativenavj.domain.State;
 import dev.langchain4j.agent.tool.Tool;
 
 /**
@@ -49,4 +52,58 @@ public class FlightTools {
                 goal.direction(),
                 goal.velocity());
     }
+
+    @Tool("Finds an airport, runway, navaid or fix by its ident and returns its position, elevation, distance and bearing.")
+    public String locate(String ident) {
+        Database database = memory.getDatabase();
+        if (database == null)
+            return "ERROR: No navigation database";
+        int index = database.find(ident.trim());
+        if (index < 0)
+            return "ERROR: Unknown ident " + ident;
+        return describe(database, index, memory.getState());
+    }
+
+    @Tool("Lists the nearest airports, runways, navaids or fixes to the aircraft. Kind is AIRPORT, RUNWAY, NAVAID, FIX or ALL.")
+    public String findNearest(String kind, int count) {
+        Database database = memory.getDatabase();
+        if (database == null)
+            return "ERROR: No navigation database";
+        int kinds;
+        try {
+            kinds = "ALL".equalsIgnoreCase(kind.trim()) ? Database.ALL
+                    : Database.mask(Database.Kind.valueOf(kind.trim().toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return "ERROR: Unknown kind " + kind + ", expected AIRPORT, RUNWAY, NAVAID, FIX or ALL";
+        }
+        State state = memory.getState();
+        int[] found = new int[Math.max(1, Math.min(count, 20))];
+        double[] distance = new double[found.length];
+        int size = database.nearest(state.latitude(), state.longitude(), kinds, found, distance);
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            result.append(describe(database, found[i], state)).append(System.lineSeparator());
+        }
+        return size == 0 ? "Nothing found" : result.toString().trim();
+    }
+
+    @Tool("Flies a route through a space-separated list of airport, navaid or fix idents, or clears it with 'OFF'.")
+    public String setRoute(String idents) {
+        return shell.execute("RTE " + idents);
+    }
+
+    @Tool("Plans the shortest airway route to a destination ident, from an origin ident or from the present position if origin is empty, and flies it.")
+    public String planRoute(String origin, String destination) {
+        String from = origin == null ? "" : origin.trim();
+        return shell.execute(from.isEmpty() ? "PLN " + destination : "PLN " + from + " " + destination);
+    }
+
+    private static String describe(Database database, int index, State state) {
+        double latitude = database.getLatitude(index);
+        double longitude = database.getLongitude(index);
+        return String.format("%s %s at %.4f, %.4f, elevation %.0fft, %.1fNM bearing %.0fdeg", database.getKind(index),
+                database.getIdent(index), latitude, longitude, database.getElevation(index),
+                Sphere.distance(state.latitude(), state.longitude(), latitude, longitude),
+                Sphere.bearing(state.latitude(), state.longitude(), latitude, longitude));
+    }
 }
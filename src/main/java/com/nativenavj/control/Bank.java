@@ -0,0 +1,230 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Axis;
+import com.nativenavj.domain.Configuration;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Recorder;
+import com.nativenavj.domain.Target;
+import com.nativenavj.domain.Telemetry;
+import com.nativenavj.port.Aircraft;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bank of PID controllers, one per Axis, kept struct-of-arrays.
+ * A run reads one telemetry snapshot and the Target once and updates every
+ * axis in a single loop over primitive arrays, then sends the outputs as one
+ * frame. The arithmetic matches Controller.compute step for step, including
+ * anti-windup and the bumpless transfer of setConfiguration. Each axis
+ * steps at its own rate, like its Controller; between steps the last output
+ * of the axis is held.
+ */
+public class Bank implements Runnable {
+    private static final Axis[] AXES = Axis.values();
+    private static final int SIZE = AXES.length;
+    // Telemetry field fed back per axis (matches Axis order)
+    private static final int[] FIELD = { Telemetry.PITCH, Telemetry.ROLL, Telemetry.YAW, Telemetry.CLIMB };
+    // Rates of the Controllers the Bank replaces
+    public static final double SURFACE = 50.0; // Hz
+    public static final double THROTTLE = 10.0; // Hz
+    private static final double TOLERANCE = 0.1; // share of a period a sample may come early
+
+    private final Memory memory;
+    private final Aircraft aircraft;
+    private final double[] values = new double[Telemetry.SIZE];
+    private final double[] target = new double[SIZE];
+    private final double[] measurement = new double[SIZE];
+    private final AtomicReferenceArray<Configuration> pending = new AtomicReferenceArray<>(SIZE);
+    private volatile int enabled = (1 << SIZE) - 1; // bit per active axis
+
+    // Gains
+    private final double[] proportion = new double[SIZE];
+    private final double[] integral = new double[SIZE];
+    private final double[] differential = new double[SIZE];
+    private final double[] minimum = new double[SIZE];
+    private final double[] maximum = new double[SIZE];
+
+    // PID state
+    private final double[] sum = new double[SIZE];
+    private final double[] feedback = new double[SIZE];
+    private final double[] time = new double[SIZE];
+    private final double[] error = new double[SIZE];
+    private final double[] derivative = new double[SIZE];
+    private final double[] output = new double[SIZE];
+    private final boolean[] startup = new boolean[SIZE];
+
+    // Schedule
+    private final double[] period = new double[SIZE];
+    private final double[] due = new double[SIZE];
+
+    public Bank(Memory memory, Aircraft aircraft) {
+        this.memory = memory;
+        this.aircraft = aircraft;
+        for (Axis axis : AXES) {
+            load(axis.ordinal(), axis == Axis.THROTTLE ? Configuration.CLIMB : Configuration.SURFACE);
+            startup[axis.ordinal()] = true;
+            period[axis.ordinal()] = 1.0 / (axis == Axis.THROTTLE ? THROTTLE : SURFACE);
+        }
+    }
+
+    @Override
+    public void run() {
+        memory.getTelemetry().read(values);
+        Target current = memory.getTarget();
+        target[Axis.ELEVATOR.ordinal()] = current.pitch();
+        target[Axis.AILERON.ordinal()] = current.roll();
+        target[Axis.RUDDER.ordinal()] = current.yaw();
+        target[Axis.THROTTLE.ordinal()] = current.power();
+        for (int i = 0; i < SIZE; i++) {
+            measurement[i] = values[FIELD[i]];
+        }
+        step(target, measurement, values[Telemetry.TIME]);
+
+        int mask = enabled;
+        aircraft.begin();
+        try {
+            for (int i = 0; i < SIZE; i++) {
+                if ((mask & 1 << i) == 0)
+                    continue;
+                memory.record(Recorder.Kind.OUTPUT, i, output[i]);
+                switch (AXES[i]) {
+                    case ELEVATOR -> aircraft.setElevator(output[i]);
+                    case AILERON -> aircraft.setAileron(output[i]);
+                    case RUDDER -> aircraft.setRudder(output[i]);
+                    case THROTTLE -> aircraft.setThrottle(output[i]);
+                }
+            }
+        } finally {
+            aircraft.commit();
+        }
+    }
+
+    /**
+     * Updates every active axis for one sample. Single thread only.
+     *
+     * @param objective the target of each axis, in Axis order
+     * @param sample    the measured value of each axis, in Axis order
+     * @param now       the simulator time of the sample
+     */
+    public void step(double[] objective, double[] sample, double now) {
+        int mask = enabled;
+        for (int i = 0; i < SIZE; i++) {
+            if ((mask & 1 << i) == 0)
+                continue;
+            if (!startup[i] && now < due[i] - TOLERANCE * period[i] && now >= time[i])
+                continue;
+            Configuration configuration = pending.getAndSet(i, null);
+            if (configuration != null)
+                transfer(i, configuration);
+            due[i] = due[i] + period[i] > now ? due[i] + period[i] : now + period[i];
+            double dt = startup[i] ? 0.01 : now - time[i];
+            if (dt <= 0 || dt > 1.0)
+                dt = 0.01;
+            compute(i, objective[i] - sample[i], sample[i], dt);
+            time[i] = now;
+        }
+    }
+
+    /**
+     * The PID step of Controller.compute on the arrays of one axis.
+     */
+    private void compute(int i, double currentError, double currentFeedback, double dt) {
+        double pTerm = proportion[i] * currentError;
+
+        sum[i] += currentError * dt;
+        double iTerm = integral[i] * sum[i];
+
+        derivative[i] = 0.0;
+        if (!startup[i]) {
+            derivative[i] = (currentFeedback - feedback[i]) / dt;
+        }
+        double dTerm = -differential[i] * derivative[i];
+
+        double out = pTerm + iTerm + dTerm;
+        double clamped = Math.max(minimum[i], Math.min(maximum[i], out));
+
+        // Anti-windup
+        if (out != clamped && integral[i] != 0.0) {
+            double excess = (out - clamped) / integral[i];
+            sum[i] -= excess;
+        }
+
+        feedback[i] = currentFeedback;
+        error[i] = currentError;
+        startup[i] = false;
+        output[i] = clamped;
+    }
+
+    /**
+     * Replaces the gains of an axis with bumpless transfer: the integral sum is
+     * recomputed so the last output is preserved. Safe to call from any thread;
+     * the gains change at the start of the next step of the axis.
+     */
+    public void setConfiguration(Axis axis, Configuration configuration) {
+        pending.set(axis.ordinal(), configuration);
+    }
+
+    private void transfer(int i, Configuration configuration) {
+        if (configuration.integral() != 0) {
+            sum[i] = (output[i] - (configuration.proportion() * error[i])
+                    + (configuration.derivative() * derivative[i])) / configuration.integral();
+        }
+        load(i, configuration);
+    }
+
+    /**
+     * Sets the rate of an axis. The new period starts after the next step of the axis.
+     */
+    public void setFrequency(Axis axis, double frequency) {
+        if (frequency > 0)
+            period[axis.ordinal()] = 1.0 / frequency;
+    }
+
+    public double getFrequency(Axis axis) {
+        return 1.0 / period[axis.ordinal()];
+    }
+
+    public Configuration getConfiguration(Axis axis) {
+        int i = axis.ordinal();
+        Configuration configuration = pending.get(i);
+        if (configuration != null)
+            return configuration;
+        return new Configuration(proportion[i], integral[i], differential[i], minimum[i], maximum[i]);
+    }
+
+    public synchronized void setActive(Axis axis, boolean value) {
+        int bit = 1 << axis.ordinal();
+        enabled = value ? enabled | bit : enabled & ~bit;
+    }
+
+    public boolean isActive(Axis axis) {
+        return (enabled & 1 << axis.ordinal()) != 0;
+    }
+
+    public double getOutput(Axis axis) {
+        return output[axis.ordinal()];
+    }
+
+    /**
+     * Clears the PID state of an axis. Single thread only, like step.
+     */
+    public void reset(Axis axis) {
+        int i = axis.ordinal();
+        sum[i] = 0.0;
+        feedback[i] = 0.0;
+        time[i] = 0.0;
+        error[i] = 0.0;
+        derivative[i] = 0.0;
+        output[i] = 0.0;
+        due[i] = 0.0;
+        startup[i] = true;
+    }
+
+    private void load(int i, Configuration configuration) {
+        proportion[i] = configuration.proportion();
+        integral[i] = configuration.integral();
+        differential[i] = configuration.derivative();
+        minimum[i] = configuration.minimum();
+        maximum[i] = configuration.maximum();
+    }
+}
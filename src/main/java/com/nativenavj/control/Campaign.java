@@ -0,0 +1,186 @@
+package com.nativenavj.control;
+
+import com.nativenavj.adapter.Airframe;
+import com.nativenavj.adapter.Disturbance;
+import com.nativenavj.domain.Goal;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Navigator;
+import com.nativenavj.domain.Shell;
+import com.nativenavj.domain.State;
+import com.nativenavj.domain.Telemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Monte-Carlo robustness campaign.
+ * Every run builds its own control stack (Memory, Computer, controllers) and
+ * flies the same climbing turn in lockstep against an Airframe with random
+ * wind, turbulence, mass, sensor noise and initial attitude. Runs share no
+ * state, so they fly in parallel on all cores; the outcomes are aggregated
+ * into a Summary.
+ */
+public class Campaign {
+    private static final Logger log = LoggerFactory.getLogger(Campaign.class);
+
+    public static final double DURATION = 180.0; // s of simulator time per run
+    private static final Goal GOAL = new Goal(5500, 120, 120);
+    private static final double ALTITUDE_BAND = 50.0; // ft counted as settled
+    private static final double HEADING_BAND = 5.0; // deg counted as settled
+    private static final double ALTITUDE_LIMIT = 500.0; // ft error at the end counted as divergence
+    private static final double HEADING_LIMIT = 30.0; // deg error at the end counted as divergence
+    private static final String[] TASKS = { "COMPUTER", "PITCH", "ROLL", "THROTTLE" };
+
+    /**
+     * The result of one run.
+     *
+     * @param diverged  whether the run ended far from the goal, on the ground or with non-finite state
+     * @param overshoot the largest altitude above the goal in feet
+     * @param settling  the time in seconds after which the run stayed within the bands, NaN if never
+     * @param stalls    the number of times the Computer's stall guard engaged
+     */
+    public record Outcome(boolean diverged, double overshoot, double settling, int stalls) {
+    }
+
+    /**
+     * The aggregate of a campaign.
+     *
+     * @param runs      the number of runs
+     * @param diverged  the number of diverged runs
+     * @param unsettled the number of runs that never settled
+     * @param stalls    the stall guard triggers of all runs
+     * @param overshoot the mean altitude overshoot in feet
+     * @param worst     the largest altitude overshoot in feet
+     * @param settling  the mean settling time in seconds of the settled runs
+     * @param slowest   the largest settling time in seconds
+     */
+    public record Summary(int runs, int diverged, int unsettled, long stalls, double overshoot, double worst,
+            double settling, double slowest) {
+    }
+
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    public Campaign(long seed) {
+        this(seed, ForkJoinPool.commonPool());
+    }
+
+    public Campaign(long seed, ForkJoinPool pool) {
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Flies the runs in parallel and aggregates their outcomes.
+     */
+    public Summary run(int runs) {
+        long start = System.nanoTime();
+        List<Outcome> outcomes = pool.submit(() -> IntStream.range(0, runs).parallel().mapToObj(this::fly).toList())
+                .join();
+        Summary summary = summarize(outcomes);
+        log.info("Flew {} runs in {} ms: {}", runs, (System.nanoTime() - start) / 1_000_000, summary);
+        return summary;
+    }
+
+    /**
+     * Flies one run. The run number selects the perturbation, so a run is reproducible.
+     */
+    public Outcome fly(int run) {
+        Random random = new Random(seed * 1_000_003 + run);
+        State initial = new State(47.0, 8.0, 90.0, 5000.0, uniform(random, 10), uniform(random, 5), 90.0,
+                120.0 + uniform(random, 10), 0.0, 0.0);
+        Disturbance disturbance = new Disturbance(20 * random.nextDouble(), 360 * random.nextDouble(),
+                random.nextDouble(), 1.0 + uniform(random, 0.2), 0.5 * random.nextDouble(), random.nextLong());
+        return fly(initial, disturbance);
+    }
+
+    /**
+     * Flies the climbing turn from an initial state under a disturbance.
+     */
+    Outcome fly(State initial, Disturbance disturbance) {
+        Memory memory = new Memory();
+        Airframe airframe = new Airframe(memory, initial, disturbance);
+        Computer computer = new Computer(memory);
+        Orchestrator orchestrator = new Orchestrator(memory, airframe, computer,
+                new Shell(memory, InputStream.nullInputStream()), () -> {
+                });
+        memory.setGoal(GOAL);
+        memory.setNavigator(Navigator.active("AUTONOMOUS"));
+        for (String name : TASKS) {
+            memory.setActive(name, true);
+        }
+
+        Sequencer sequencer = new Sequencer(memory);
+        Telemetry telemetry = memory.getTelemetry();
+        double overshoot = 0.0;
+        double settling = 0.0;
+        long count = Math.round(DURATION / Lockstep.STEP);
+        for (long frame = 1; frame <= count; frame++) {
+            airframe.step(Lockstep.STEP);
+            double time = telemetry.get(Telemetry.TIME);
+            sequencer.step(time);
+
+            double altitude = telemetry.get(Telemetry.ALTITUDE);
+            if (!Double.isFinite(altitude) || !Double.isFinite(telemetry.get(Telemetry.SPEED)) || altitude <= 0) {
+                orchestrator.stop();
+                return new Outcome(true, overshoot, Double.NaN, (int) computer.getTriggers());
+            }
+            overshoot = Math.max(overshoot, altitude - GOAL.height());
+            if (Math.abs(altitude - GOAL.height()) > ALTITUDE_BAND
+                    || Math.abs(bearing(telemetry.get(Telemetry.HEADING))) > HEADING_BAND) {
+                settling = Double.NaN;
+            } else if (Double.isNaN(settling)) {
+                settling = time;
+            }
+        }
+        orchestrator.stop();
+
+        double altitudeError = Math.abs(telemetry.get(Telemetry.ALTITUDE) - GOAL.height());
+        double headingError = Math.abs(bearing(telemetry.get(Telemetry.HEADING)));
+        boolean diverged = altitudeError > ALTITUDE_LIMIT || headingError > HEADING_LIMIT;
+        return new Outcome(diverged, overshoot, settling, (int) computer.getTriggers());
+    }
+
+    private static Summary summarize(List<Outcome> outcomes) {
+        int diverged = 0;
+        int unsettled = 0;
+        long stalls = 0;
+        double overshoot = 0.0;
+        double worst = 0.0;
+        double settling = 0.0;
+        double slowest = 0.0;
+        for (Outcome outcome : outcomes) {
+            if (outcome.diverged())
+                diverged++;
+            stalls += outcome.stalls();
+            overshoot += outcome.overshoot();
+            worst = Math.max(worst, outcome.overshoot());
+            if (Double.isNaN(outcome.settling())) {
+                unsettled++;
+            } else {
+                settling += outcome.settling();
+                slowest = Math.max(slowest, outcome.settling());
+            }
+        }
+        int runs = outcomes.size();
+        int settled = runs - unsettled;
+        return new Summary(runs, diverged, unsettled, stalls, runs > 0 ? overshoot / runs : 0.0, worst,
+                settled > 0 ? settling / settled : Double.NaN, slowest);
+    }
+
+    /**
+     * Returns the signed heading error to the goal in [-180, 180).
+     */
+    private static double bearing(double heading) {
+        return ((GOAL.direction() - heading) % 360 + 540) % 360 - 180;
+    }
+
+    private static double uniform(Random random, double range) {
+        return range * (2 * random.nextDouble() - 1);
+    }
+}
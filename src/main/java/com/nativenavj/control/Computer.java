@@ -3,8 +3,11 @@ package com.nativenavj.control;
 import com.nativenavj.domain.Goal;
 import com.nativenavj.domain.Memory;
 import com.nativenavj.domain.Navigator;
+import com.nativenavj.domain.Recorder;
+import com.nativenavj.domain.Route;
 import com.nativenavj.domain.State;
 import com.nativenavj.domain.Target;
+import com.nativenavj.domain.Terrain;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,11 +18,23 @@ import org.slf4j.LoggerFactory;
 public class Computer implements Runnable {
     private static final Logger log = LoggerFactory.getLogger(Computer.class);
 
-    private static final double STALL = 60.0; // kts
+    public static final double STALL = 60.0; // kts
     private static final double WEIGHT = 1.0; // Energy distribution weight
     private static final double RATIO = 1.68781; // kts to ft/s
+    private static final double LOOKAHEAD = 120.0; // s of flight checked for terrain
+    private static final double HORIZON = 60.0; // NM of track prefetched for terrain
+    private static final double RECOVERY = 5.0; // kts of predicted margin that end protection
+    private static final double HOLD = 1.0; // s protection holds at least
+    private static final Target PROTECTION = new Target(0.0, -10.0, 0.0, 1.0);
 
     private final Memory memory;
+    private final Guidance guidance = new Guidance();
+    private final Predictor predictor = new Predictor();
+    private double floor = Double.NaN;
+    private double minimum = Double.NaN;
+    private volatile boolean protecting;
+    private volatile long triggers;
+    private double engaged; // simulator time protection engaged
 
     public Computer(Memory memory) {
         this.memory = memory;
@@ -54,13 +69,7 @@ public class Computer implements Runnable {
     public void run() {
         if (memory.getNavigator().status()) {
             State state = memory.getState();
-            Goal goal = memory.getGoal();
-
-            // Stall protection - highest priority
-            if (state.speed() < STALL) {
-                memory.setTarget(new Target(0.0, -10.0, 0.0, 1.0));
-                return;
-            }
+            Goal goal = clear(state, follow(state, memory.getGoal()));
 
             // Calculate energy distribution error
             double altitudeError = goal.height() - state.altitude();
@@ -86,8 +95,115 @@ public class Computer implements Runnable {
                     targetYaw,
                     clamp(targetPower, 0.0, 1.0));
 
-            memory.setTarget(target);
+            // Stall protection - highest priority, early when the predicted speed runs out of margin
+            memory.setTarget(guard(state, target) ? PROTECTION : target);
+        }
+    }
+
+    /**
+     * Steers the goal direction along the route, if one is loaded.
+     */
+    private Goal follow(State state, Goal goal) {
+        Route route = memory.getRoute();
+        if (route == null)
+            return goal;
+        double direction = guidance.steer(route, state.latitude(), state.longitude());
+        if (Double.isNaN(direction)) {
+            log.info("Route {} complete", route);
+            memory.setRoute(null);
+            return goal;
+        }
+        Goal steered = new Goal(goal.height(), goal.velocity(), direction);
+        memory.setGoal(steered);
+        return steered;
+    }
+
+    /**
+     * Predicts the envelope a few seconds ahead under the target the Computer
+     * would fly without protection, and records the margins. Protection
+     * engages below the stall speed or without predicted margin, holds for at
+     * least a second and ends once the unprotected target is predicted to keep
+     * a clear margin. Judging the
+     * release by the unprotected target keeps the nose-down recovery from
+     * releasing itself.
+     *
+     * @return whether stall protection flies the aircraft
+     */
+    private boolean guard(State state, Target target) {
+        double margin = Double.NaN;
+        if (predictor.predict(memory.getHistory(), target, STALL, Double.isNaN(minimum) ? 0.0 : minimum)) {
+            margin = predictor.getSpeedMargin();
+            Recorder recorder = memory.getRecorder();
+            if (recorder != null) {
+                recorder.write(Recorder.Kind.ENVELOPE, 0, state.time(), margin, predictor.getAltitudeMargin(),
+                        predictor.getBankMargin(), predictor.getSpeed());
+            }
+        }
+        if (!protecting && (state.speed() < STALL || margin < 0)) {
+            log.warn("Stall protection at {} kts, predicted {} kts", state.speed(), predictor.getSpeed());
+            protecting = true;
+            triggers++;
+            engaged = state.time();
+        } else if (protecting && state.speed() >= STALL && !(margin <= RECOVERY)
+                && !(state.time() - engaged < HOLD)) {
+            log.info("Stall protection released at {} kts", state.speed());
+            protecting = false;
+        }
+        return protecting;
+    }
+
+    /**
+     * Returns how often stall protection engaged.
+     */
+    public long getTriggers() {
+        return triggers;
+    }
+
+    public boolean isProtecting() {
+        return protecting;
+    }
+
+    public Predictor getPredictor() {
+        return predictor;
+    }
+
+    /**
+     * Raises the goal height to the minimum safe altitude over the track ahead,
+     * if terrain is loaded. While the terrain ahead is unknown the last known
+     * floor stands, so the target never sinks to an incomplete floor. The goal
+     * in Memory keeps what was asked for.
+     */
+    private Goal clear(State state, Goal goal) {
+        Terrain terrain = memory.getTerrain();
+        if (terrain == null)
+            return goal;
+        terrain.prefetch(state.latitude(), state.longitude(), state.heading(), HORIZON);
+        double distance = Math.max(1.0, state.speed() * LOOKAHEAD / 3600.0);
+        double safe = terrain.floor(state.latitude(), state.longitude(), state.heading(), distance);
+        if (Double.isNaN(safe)) {
+            safe = minimum;
+        } else {
+            minimum = safe;
+        }
+        if (goal.height() < safe) {
+            if (!(goal.height() < floor))
+                log.warn("Goal height {} below terrain floor {}", goal.height(), safe);
+            floor = safe;
+            return new Goal(safe, goal.velocity(), goal.direction());
         }
+        floor = Double.NaN;
+        return goal;
+    }
+
+    /**
+     * Returns the terrain floor that raised the last target, or NaN if it was not raised.
+     */
+    public double getFloor() {
+        return floor;
+    }
+
+    public Guidance getGuidance() {
+        return guidance;
     }
 
     private double calculateTargetRoll(double targetHdg, double currentHdg) {
@@ -2,12 +2,16 @@ package com.nativenavj.control;
 
 import com.nativenavj.domain.Configuration;
 import com.nativenavj.port.Objective;
-import com.nativenavj.domain.Sample;
+import com.nativenavj.domain.Reading;
+import com.nativenavj.domain.Table;
 import com.nativenavj.port.Actuator;
+import com.nativenavj.port.Envelope;
 import com.nativenavj.port.Sensor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * Discrete-time PID controller.
  * Implements Runnable for periodic execution.
@@ -18,7 +22,7 @@ public class Controller implements Runnable {
     protected final Objective objective;
     protected final Actuator actuator;
     protected final Sensor sensor;
-    protected final Configuration configuration;
+    protected Configuration configuration;
 
     // PID State (Single Nouns)
     protected double sum;
@@ -29,6 +33,17 @@ public class Controller implements Runnable {
     protected double output;
     protected boolean startup;
 
+    // Reused for every sensor read
+    private final Reading reading = new Reading();
+    // Gains waiting for the next tick
+    private final AtomicReference<Configuration> pending = new AtomicReference<>();
+    // Gain schedule over the flight envelope, replaces the fixed gains when set
+    private volatile Table table;
+    private Envelope envelope;
+    // Scheduled gains of the current tick, laid out as in Table
+    private final double[] gains = new double[Table.GAINS];
+    private boolean scheduled;
+
     public Controller(Objective objective, Actuator actuator, Sensor sensor, Configuration configuration) {
         this(objective, actuator, sensor, configuration, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, true);
     }
@@ -49,62 +64,145 @@ public class Controller implements Runnable {
     }
 
     public Configuration getConfiguration() {
-        return configuration;
+        Configuration next = pending.get();
+        return next != null ? next : configuration;
+    }
+
+    /**
+     * Swaps the gains in place. Safe to call from any thread; the next tick
+     * picks them up with bumpless transfer, so the schedule never pauses.
+     */
+    public void configure(Configuration config) {
+        pending.set(config);
     }
 
     public Controller setConfiguration(Configuration config) {
-        // Bumpless Transfer: Calculate new sum to preserve last output
-        double newSum = sum;
-        if (config.integral() != 0) {
-            newSum = (output - (config.proportion() * error) - (config.derivative() * derivative))
-                    / config.integral();
-        }
+        Controller controller = new Controller(objective, actuator, sensor, config, transfer(config), feedback, time,
+                error, derivative, output, startup);
+        controller.envelope = envelope;
+        controller.table = table;
+        return controller;
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
+    /**
+     * Attaches a gain schedule, or detaches it with null. Safe to call from any thread.
+     */
+    public void setTable(Table table) {
+        this.table = table;
+    }
 
-        return new Controller(objective, actuator, sensor, config, newSum, feedback, time, error, derivative, output,
-                startup);
+    /**
+     * Sets the port that locates the aircraft in the envelope. Set before the first tick.
+     */
+    public void setEnvelope(Envelope envelope) {
+        this.envelope = envelope;
+    }
+
+    /**
+     * Bumpless Transfer: Calculate new sum to preserve last output
+     */
+    private double transfer(Configuration config) {
+        return transfer(config.proportion(), config.integral(), config.derivative());
+    }
+
+    private double transfer(double proportion, double integral, double damping) {
+        if (integral == 0)
+            return sum;
+        // The derivative term enters the output as -damping * derivative
+        return (output - (proportion * error) + (damping * derivative)) / integral;
+    }
+
+    /**
+     * Interpolates the gains of the current envelope point. Gains that moved
+     * since the last tick are swapped in with bumpless transfer.
+     *
+     * @return whether the schedule supplied the gains
+     */
+    private boolean schedule() {
+        Table current = table;
+        if (current == null || envelope == null) {
+            if (scheduled) {
+                // Back to the fixed gains without a bump
+                sum = transfer(configuration);
+                scheduled = false;
+            }
+            return false;
+        }
+        double proportion = gains[0];
+        double integral = gains[1];
+        double damping = gains[2];
+        current.lookup(envelope.speed(), envelope.altitude(), gains);
+        if (!scheduled || proportion != gains[0] || integral != gains[1] || damping != gains[2]) {
+            sum = transfer(gains[0], gains[1], gains[2]);
+        }
+        scheduled = true;
+        return true;
     }
 
     @Override
     public void run() {
         try {
-            Sample sample = sensor.getSample();
-            if (sample == null)
+            Configuration next = pending.getAndSet(null);
+            if (next != null) {
+                // While scheduled the fixed gains only take over when the table is detached
+                if (!scheduled)
+                    sum = transfer(next);
+                configuration = next;
+            }
+
+            reading.clear();
+            sensor.read(reading);
+            if (!reading.isPresent())
                 return;
 
-            double dt = startup ? 0.01 : sample.time() - time;
+            double dt = startup ? 0.01 : reading.getTime() - time;
             if (dt <= 0 || dt > 1.0)
                 dt = 0.01;
 
-            double currentFeedback = sample.value();
+            double currentFeedback = reading.getValue();
             double currentError = objective.getTarget() - currentFeedback;
 
-            output = compute(currentError, currentFeedback, dt, configuration);
+            if (schedule()) {
+                output = compute(currentError, currentFeedback, dt, gains[0], gains[1], gains[2], gains[3], gains[4]);
+            } else {
+                output = compute(currentError, currentFeedback, dt, configuration);
+            }
             actuator.setSignal(output);
 
-            this.time = sample.time();
+            this.time = reading.getTime();
         } catch (Exception e) {
             log.error("Error in controller execution", e);
         }
     }
 
     public double compute(double currentError, double currentFeedback, double dt, Configuration config) {
-        double pTerm = config.proportion() * currentError;
+        return compute(currentError, currentFeedback, dt, config.proportion(), config.integral(), config.derivative(),
+                config.minimum(), config.maximum());
+    }
+
+    private double compute(double currentError, double currentFeedback, double dt, double proportion,
+            double integral, double damping, double minimum, double maximum) {
+        double pTerm = proportion * currentError;
 
         sum += currentError * dt;
-        double iTerm = config.integral() * sum;
+        double iTerm = integral * sum;
 
         derivative = 0.0;
         if (!startup) {
             derivative = (currentFeedback - feedback) / dt;
         }
-        double dTerm = -config.derivative() * derivative;
+        double dTerm = -damping * derivative;
 
         double out = pTerm + iTerm + dTerm;
-        double clamped = Math.max(config.minimum(), Math.min(config.maximum(), out));
+        double clamped = Math.max(minimum, Math.min(maximum, out));
 
         // Anti-windup
-        if (out != clamped && config.integral() != 0.0) {
-            double excess = (out - clamped) / config.integral();
+        if (out != clamped && integral != 0.0) {
+            double excess = (out - clamped) / integral;
             sum -= excess;
         }
 
@@ -0,0 +1,127 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Route;
+import com.nativenavj.domain.Sphere;
+
+/**
+ * Lateral guidance along a Route.
+ * Every tick projects the position onto the active leg to get the
+ * cross-track error and along-track distance, sequences to the next leg
+ * once the current one is flown, and returns the heading that follows the
+ * great circle with an intercept proportional to the cross-track error.
+ * Owned by the Computer thread; a tick allocates nothing.
+ */
+public class Guidance {
+    public static final double GAIN = 30.0; // deg of intercept per NM of cross-track error
+    public static final double INTERCEPT = 45.0; // deg maximum intercept angle
+
+    private Route route;
+    private int leg;
+    private double cross;
+    private double along;
+    private double course;
+    private boolean complete;
+
+    /**
+     * Returns the heading that tracks the route from a position.
+     *
+     * @return the heading in [0, 360), or NaN once the last waypoint is passed
+     */
+    public double steer(Route active, double latitude, double longitude) {
+        if (active != route) {
+            route = active;
+            leg = 0;
+            complete = false;
+        }
+        if (complete)
+            return Double.NaN;
+
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double sinPhi = Math.sin(phi);
+        double cosPhi = Math.cos(phi);
+        double sinLambda = Math.sin(lambda);
+        double cosLambda = Math.cos(lambda);
+        double x = cosPhi * cosLambda;
+        double y = cosPhi * sinLambda;
+        double z = sinPhi;
+
+        while (true) {
+            double ax = route.getVector(leg, 0);
+            double ay = route.getVector(leg, 1);
+            double az = route.getVector(leg, 2);
+            double nx = route.getNormal(leg, 0);
+            double ny = route.getNormal(leg, 1);
+            double nz = route.getNormal(leg, 2);
+
+            // Along track: angle from the leg start to the position, measured about the normal
+            double cx = ay * z - az * y;
+            double cy = az * x - ax * z;
+            double cz = ax * y - ay * x;
+            along = Math.atan2(cx * nx + cy * ny + cz * nz, ax * x + ay * y + az * z) * Sphere.RADIUS;
+            if (along < route.getLength(leg)) {
+                cross = Math.asin(Math.max(-1.0, Math.min(1.0, x * nx + y * ny + z * nz))) * Sphere.RADIUS;
+
+                // Direction of the great circle through the position: normal cross position
+                double tx = ny * z - nz * y;
+                double ty = nz * x - nx * z;
+                double tz = nx * y - ny * x;
+                double north = -sinPhi * cosLambda * tx - sinPhi * sinLambda * ty + cosPhi * tz;
+                double east = -sinLambda * tx + cosLambda * ty;
+                course = Math.toDegrees(Math.atan2(east, north));
+
+                // Left of track is a positive error, which needs a turn to the right
+                double intercept = Math.max(-INTERCEPT, Math.min(INTERCEPT, GAIN * cross));
+                return ((course + intercept) % 360.0 + 360.0) % 360.0;
+            }
+            if (leg == route.getLegs() - 1) {
+                complete = true;
+                return Double.NaN;
+            }
+            leg++;
+        }
+    }
+
+    public Route getRoute() {
+        return route;
+    }
+
+    /**
+     * Returns the index of the active leg; it ends at waypoint leg + 1.
+     */
+    public int getLeg() {
+        return leg;
+    }
+
+    /**
+     * Returns the cross-track error in NM, positive left of track.
+     */
+    public double getCrossTrack() {
+        return cross;
+    }
+
+    /**
+     * Returns the distance flown along the active leg in NM.
+     */
+    public double getAlongTrack() {
+        return along;
+    }
+
+    /**
+     * Returns the remaining distance to the end of the active leg in NM.
+     */
+    public double getRemaining() {
+        return route == null ? 0.0 : route.getLength(leg) - along;
+    }
+
+    /**
+     * Returns the great-circle course of the active leg at the position.
+     */
+    public double getCourse() {
+        return (course + 360.0) % 360.0;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+}
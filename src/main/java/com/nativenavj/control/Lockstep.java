@@ -0,0 +1,67 @@
+package com.nativenavj.control;
+
+import com.nativenavj.adapter.Airframe;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Telemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Steps an Airframe and the control tasks in lockstep on one thread.
+ * Every frame advances the model by a fixed step, then the Sequencer runs the
+ * tasks that are due, so a flight is reproducible and runs at any multiple
+ * of real time.
+ */
+public class Lockstep {
+    private static final Logger log = LoggerFactory.getLogger(Lockstep.class);
+
+    public static final double STEP = 0.02; // s, 50 Hz simulator frames
+
+    private final Memory memory;
+    private final Airframe airframe;
+    private final Sequencer sequencer;
+    private final double speed;
+    private long frames;
+
+    /**
+     * @param memory   the blackboard the Orchestrator registered its tasks on
+     * @param airframe the model that receives the controller outputs
+     * @param speed    the multiple of real time, or 0 to run as fast as possible
+     */
+    public Lockstep(Memory memory, Airframe airframe, double speed) {
+        this.memory = memory;
+        this.airframe = airframe;
+        this.speed = speed;
+        this.sequencer = new Sequencer(memory);
+    }
+
+    /**
+     * Flies for the given simulator duration.
+     *
+     * @param seconds the simulator time to fly
+     * @return the number of frames stepped
+     */
+    public long run(double seconds) {
+        long count = Math.round(seconds / STEP);
+        long start = System.nanoTime();
+        Telemetry telemetry = memory.getTelemetry();
+        for (long frame = 1; frame <= count; frame++) {
+            airframe.step(STEP);
+            sequencer.step(telemetry.get(Telemetry.TIME));
+            if (speed > 0) {
+                long wait = start + (long) (frame * STEP / speed * 1e9) - System.nanoTime();
+                if (wait > 0)
+                    LockSupport.parkNanos(wait);
+            }
+        }
+        frames += count;
+        log.info("Flew {} frames in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+}
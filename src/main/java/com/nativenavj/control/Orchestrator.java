@@ -1,13 +1,17 @@
 package com.nativenavj.control;
 
-import com.nativenavj.adapter.Connector;
+import com.nativenavj.domain.Axis;
 import com.nativenavj.domain.Memory;
-import com.nativenavj.domain.Sample;
+import com.nativenavj.domain.Recorder;
 import com.nativenavj.domain.Configuration;
+import com.nativenavj.port.Aircraft;
 import com.nativenavj.port.Objective;
 import com.nativenavj.port.Actuator;
+import com.nativenavj.port.Envelope;
 import com.nativenavj.port.Sensor;
 import com.nativenavj.domain.Shell;
+import com.nativenavj.domain.Table;
+import com.nativenavj.domain.Telemetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +20,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Orchestrates the control sources and handles their scheduling.
@@ -23,21 +28,46 @@ import java.util.concurrent.TimeUnit;
 public class Orchestrator implements Runnable {
     private static final Logger log = LoggerFactory.getLogger(Orchestrator.class);
 
+    /**
+     * How the control tasks are executed.
+     * SCHEDULED runs every task at a fixed rate on the scheduler, SYNCHRONOUS
+     * runs one ordered control frame per telemetry frame on a single thread.
+     */
+    public enum Execution {
+        SCHEDULED,
+        SYNCHRONOUS
+    }
+
+    private static final long TIMEOUT = 100_000_000; // ns maximum wait for a telemetry frame
+
     private final Memory memory;
-    private final Connector connector;
+    private final Aircraft aircraft;
     private final Computer computer;
     private final Shell shell;
     private final Runnable assistant;
+    private final Execution execution;
+    private final Sequencer sequencer;
+    private Bank bank;
+    private final AtomicBoolean framing = new AtomicBoolean(false);
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
     private final Map<String, ScheduledFuture<?>> job = new java.util.concurrent.ConcurrentHashMap<>();
     private final Map<String, Loop> plan = new java.util.concurrent.ConcurrentHashMap<>();
+    private final Map<String, Task> task = new java.util.concurrent.ConcurrentHashMap<>();
+    private final Map<String, Task.Policy> policy = new java.util.concurrent.ConcurrentHashMap<>();
+
+    public Orchestrator(Memory memory, Aircraft aircraft, Computer computer, Shell shell, Runnable assistant) {
+        this(memory, aircraft, computer, shell, assistant, Execution.SCHEDULED);
+    }
 
-    public Orchestrator(Memory memory, Connector connector, Computer computer, Shell shell, Runnable assistant) {
+    public Orchestrator(Memory memory, Aircraft aircraft, Computer computer, Shell shell, Runnable assistant,
+            Execution execution) {
         this.memory = memory;
-        this.connector = connector;
+        this.aircraft = aircraft;
         this.computer = computer;
         this.shell = shell;
         this.assistant = assistant;
+        this.execution = execution;
+        this.sequencer = new Sequencer(memory);
 
         initialize();
     }
@@ -48,36 +78,73 @@ public class Orchestrator implements Runnable {
         memory.addTask("SHELL", shell, new Loop(true, 1.0));
         memory.addTask("ORCHESTRATOR", this, new Loop(true, 0.1));
         memory.addTask("ASSISTANT", assistant, new Loop(false, 0.5));
+        if (memory.getRecorder() != null) {
+            memory.addTask("RECORDER", memory.getRecorder(), new Loop(true, 1.0));
+        }
 
         // Register strategy profiles
         memory.setProfile("SPEED", Configuration.SPEED_CONTROL);
         memory.setProfile("ALTITUDE", Configuration.ALTITUDE_CONTROL);
         memory.setProfile("HEADING", Configuration.HEADING_CONTROL);
-        Actuator pitchActuator = val -> connector.setElevator(val);
-        Sensor pitchSensor = () -> new Sample(memory.getState().time(), memory.getState().pitch());
+        Telemetry telemetry = memory.getTelemetry();
+        Envelope envelope = new Envelope() {
+            @Override
+            public double speed() {
+                return telemetry.get(Telemetry.SPEED);
+            }
+
+            @Override
+            public double altitude() {
+                return telemetry.get(Telemetry.ALTITUDE);
+            }
+        };
+        Actuator pitchActuator = val -> {
+            memory.record(Recorder.Kind.OUTPUT, Axis.ELEVATOR.ordinal(), val);
+            aircraft.setElevator(val);
+        };
+        Sensor pitchSensor = reading -> telemetry.sample(Telemetry.PITCH, reading);
         Objective pitchObjective = () -> memory.getTarget().pitch();
         memory.addController("PITCH", new Controller(pitchObjective, pitchActuator, pitchSensor, Configuration.SURFACE),
                 new Loop(false, 50.0), Configuration.SURFACE);
 
-        Actuator rollActuator = val -> connector.setAileron(val);
-        Sensor rollSensor = () -> new Sample(memory.getState().time(), memory.getState().roll());
+        Actuator rollActuator = val -> {
+            memory.record(Recorder.Kind.OUTPUT, Axis.AILERON.ordinal(), val);
+            aircraft.setAileron(val);
+        };
+        Sensor rollSensor = reading -> telemetry.sample(Telemetry.ROLL, reading);
         Objective rollObjective = () -> memory.getTarget().roll();
         memory.addController("ROLL", new Controller(rollObjective, rollActuator, rollSensor, Configuration.SURFACE),
                 new Loop(false, 50.0), Configuration.SURFACE);
 
-        Actuator yawActuator = val -> connector.setRudder(val);
-        Sensor yawSensor = () -> new Sample(memory.getState().time(), memory.getState().yaw());
+        Actuator yawActuator = val -> {
+            memory.record(Recorder.Kind.OUTPUT, Axis.RUDDER.ordinal(), val);
+            aircraft.setRudder(val);
+        };
+        Sensor yawSensor = reading -> telemetry.sample(Telemetry.YAW, reading);
         Objective yawObjective = () -> memory.getTarget().yaw();
         memory.addController("YAW", new Controller(yawObjective, yawActuator, yawSensor, Configuration.SURFACE),
                 new Loop(false, 50.0), Configuration.SURFACE);
 
-        Actuator throttleActuator = val -> connector.setThrottle(val);
-        Sensor throttleSensor = () -> new Sample(memory.getState().time(), memory.getState().climb());
+        Actuator throttleActuator = val -> {
+            memory.record(Recorder.Kind.OUTPUT, Axis.THROTTLE.ordinal(), val);
+            aircraft.setThrottle(val);
+        };
+        Sensor throttleSensor = reading -> telemetry.sample(Telemetry.CLIMB, reading);
         Objective throttleObjective = () -> memory.getTarget().power();
         memory.addController("THROTTLE",
                 new Controller(throttleObjective, throttleActuator, throttleSensor, Configuration.CLIMB),
                 new Loop(false, 10.0), Configuration.CLIMB);
 
+        for (Runnable runnable : memory.getRegistry().values()) {
+            if (runnable instanceof Controller controller) {
+                controller.setEnvelope(envelope);
+            }
+        }
+
+        // Alternative to the four controllers: every axis in one pass
+        bank = new Bank(memory, aircraft);
+        memory.addTask("BANK", bank, new Loop(false, Bank.SURFACE));
+
         log.info("System registry initialized");
     }
 
@@ -88,29 +155,92 @@ public class Orchestrator implements Runnable {
         for (String name : registry.keySet()) {
             reschedule(name, registry.get(name), memory.getLoop(name));
         }
+        if (execution == Execution.SYNCHRONOUS && !framing.getAndSet(true)) {
+            long sequence = memory.getTelemetry().getSequence();
+            scheduler.execute(() -> frame(sequence));
+            log.info("Frame-synchronous control started");
+        }
     }
 
-    public synchronized void configure(String name, Configuration config, Double frequency, Boolean active) {
+    /**
+     * Applies a configuration, frequency or active flag to a task. Gains are
+     * swapped into the running Controller without locking or rescheduling;
+     * only schedule changes take the lock.
+     */
+    public void configure(String name, Configuration config, Double frequency, Boolean active) {
         String key = name.toUpperCase();
         Runnable runnable = memory.getRunnable(key);
-        Loop currentLoop = memory.getLoop(key);
 
+        if (runnable instanceof Bank && config != null)
+            throw new IllegalArgumentException("Bank gains are set per axis: PIT, ROL, YAW or THR");
+        Axis axis = axis(key);
         if (runnable instanceof Controller controller && config != null) {
-            Controller updated = controller.setConfiguration(config);
-            memory.addController(key, updated, currentLoop, config);
-            runnable = updated;
+            controller.configure(config);
+            memory.setProfile(key, config);
+            // The Bank flies the same axis with the same gains
+            if (axis != null)
+                bank.setConfiguration(axis, config);
         }
+        if (axis != null && frequency != null)
+            bank.setFrequency(axis, frequency);
+        if (frequency == null && active == null)
+            return;
 
-        if (frequency != null || active != null) {
+        synchronized (this) {
+            Loop currentLoop = memory.getLoop(key);
             boolean nextActive = active != null ? active : (currentLoop != null && currentLoop.status());
             double nextFreq = frequency != null ? frequency : (currentLoop != null ? currentLoop.frequency() : 1.0);
             memory.setSchedule(key, new Loop(nextActive, nextFreq));
+            reschedule(key, memory.getRunnable(key), memory.getLoop(key));
         }
+    }
+
+    /**
+     * Returns the Bank axis flown by a controller, or null.
+     */
+    private static Axis axis(String key) {
+        return switch (key) {
+            case "PITCH" -> Axis.ELEVATOR;
+            case "ROLL" -> Axis.AILERON;
+            case "YAW" -> Axis.RUDDER;
+            case "THROTTLE" -> Axis.THROTTLE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Attaches a gain schedule to a controller, or detaches it with null.
+     * Like gains, the table is swapped in on the next tick without rescheduling.
+     */
+    public void setTable(String name, Table table) {
+        String key = name.toUpperCase();
+        if (!(memory.getRunnable(key) instanceof Controller controller))
+            throw new IllegalArgumentException("Not a controller: " + key);
+        controller.setTable(table);
+        memory.setTable(key, table);
+    }
+
+    /**
+     * Sets the catch-up policy of a task and restarts its schedule.
+     */
+    public synchronized void setPolicy(String name, Task.Policy value) {
+        String key = name.toUpperCase();
+        policy.put(key, value);
+        plan.remove(key);
+        reschedule(key, memory.getRunnable(key), memory.getLoop(key));
+    }
 
-        reschedule(key, runnable, memory.getLoop(key));
+    /**
+     * Returns the instrumented tasks currently scheduled, by name.
+     */
+    public Map<String, Task> getTasks() {
+        return java.util.Collections.unmodifiableMap(task);
     }
 
-    private void reschedule(String key, Runnable task, Loop loop) {
+    private void reschedule(String key, Runnable runnable, Loop loop) {
+        // The frame loop runs the sequenced tasks itself
+        if (execution == Execution.SYNCHRONOUS && Sequencer.contains(key))
+            loop = null;
         Loop scheduled = plan.get(key);
         if (loop != null && loop.equals(scheduled)) {
             return;
@@ -118,19 +248,45 @@ public class Orchestrator implements Runnable {
 
         ScheduledFuture<?> future = job.remove(key);
         plan.remove(key);
+        task.remove(key);
         if (future != null) {
             future.cancel(false);
         }
 
-        if (loop != null && loop.status() && loop.frequency() > 0) {
+        if (runnable != null && loop != null && loop.status() && loop.frequency() > 0) {
             long periodMicros = (long) (1_000_000.0 / loop.frequency());
-            job.put(key, scheduler.scheduleAtFixedRate(task, 0, periodMicros, TimeUnit.MICROSECONDS));
+            Task wrapped = new Task(key, runnable, periodMicros * 1000, policy.getOrDefault(key, Task.Policy.BURST));
+            job.put(key, scheduler.scheduleAtFixedRate(wrapped, 0, periodMicros, TimeUnit.MICROSECONDS));
             plan.put(key, loop);
+            task.put(key, wrapped);
             log.debug("Scheduled {} at {}Hz", key, loop.frequency());
         }
     }
 
+    /**
+     * Runs one control frame per new telemetry frame: Computer, controllers, then the actuator commit.
+     */
+    private void frame(long sequence) {
+        Telemetry telemetry = memory.getTelemetry();
+        long frame = 0;
+        while (framing.get() && !Thread.currentThread().isInterrupted()) {
+            long next = telemetry.await(sequence, TIMEOUT);
+            if (next == sequence)
+                continue;
+            sequence = next;
+            aircraft.begin();
+            try {
+                sequencer.cycle(frame++);
+            } catch (RuntimeException e) {
+                log.error("Control frame failed", e);
+            } finally {
+                aircraft.commit();
+            }
+        }
+    }
+
     public void stop() {
+        framing.set(false);
         scheduler.shutdown();
         try {
             if (!scheduler.awaitTermination(1, TimeUnit.SECONDS)) {
@@ -0,0 +1,155 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.History;
+import com.nativenavj.domain.Target;
+import com.nativenavj.domain.Telemetry;
+
+/**
+ * Short-horizon trajectory predictor for envelope protection.
+ * Speed and altitude trends are fitted by least squares over the latest
+ * telemetry frames, the speed trend is corrected for the pitch change the
+ * current Target still asks for, and the bank follows the target roll as a
+ * first-order response. The margins compare the predicted state with the
+ * stall speed at the predicted bank, the minimum altitude and the bank limit.
+ * All work is done in preallocated arrays.
+ */
+public class Predictor {
+    public static final double HORIZON = 5.0; // s
+    public static final double BANK = 60.0; // degrees, bank limit
+    private static final double WINDOW = 2.0; // s of telemetry fitted
+    private static final int FRAMES = 128; // frames fitted at most
+    private static final double GRAVITY = 19.07; // kts per second per g
+    private static final double LAG = 1.0; // s, time constant of the bank response
+
+    private final double[] time = new double[FRAMES];
+    private final double[] speed = new double[FRAMES];
+    private final double[] altitude = new double[FRAMES];
+    private final double[] roll = new double[FRAMES];
+    private double pitch;
+
+    private double predictedSpeed = Double.NaN;
+    private double predictedAltitude = Double.NaN;
+    private double predictedBank = Double.NaN;
+    private double speedMargin = Double.NaN;
+    private double altitudeMargin = Double.NaN;
+    private double bankMargin = Double.NaN;
+
+    /**
+     * Predicts the state HORIZON seconds ahead and updates the margins.
+     *
+     * @param target  the target the controllers are flying
+     * @param stall   the wings-level stall speed in kts
+     * @param minimum the minimum altitude in ft
+     * @return whether any frame was available
+     */
+    public boolean predict(History history, Target target, double stall, double minimum) {
+        int count = load(history);
+        if (count == 0)
+            return false;
+        int latest = count - 1;
+
+        double speedRate = slope(speed, count);
+        double climbRate = slope(altitude, count);
+        double rollRate = slope(roll, count);
+
+        // Pitching up by the outstanding difference trades speed for climb
+        double change = Double.isNaN(pitch) ? 0.0 : Math.toRadians(target.pitch() - pitch);
+        predictedSpeed = speed[latest] + speedRate * HORIZON - GRAVITY * Math.sin(change) * HORIZON / 2.0;
+        predictedAltitude = altitude[latest] + climbRate * HORIZON;
+
+        double decay = Math.exp(-HORIZON / LAG);
+        predictedBank = target.roll() + (roll[latest] - target.roll()) * decay + rollRate * LAG * (1.0 - decay);
+
+        // Load factor in a level turn raises the stall speed by the root of 1 / cos(bank)
+        double bank = Math.toRadians(Math.min(Math.abs(predictedBank), 85.0));
+        speedMargin = predictedSpeed - stall / Math.sqrt(Math.cos(bank));
+        altitudeMargin = predictedAltitude - minimum;
+        bankMargin = BANK - Math.abs(predictedBank);
+        return true;
+    }
+
+    /**
+     * Copies the frames within the window, oldest first, skipping overwritten ones.
+     */
+    private int load(History history) {
+        long last = history.getCount() - 1;
+        if (last < 0)
+            return 0;
+        double newest = history.get(last, Telemetry.TIME);
+        int count = 0;
+        for (long frame = Math.max(0, last - FRAMES + 1); frame <= last; frame++) {
+            double stamp = history.get(frame, Telemetry.TIME);
+            if (!(stamp >= newest - WINDOW))
+                continue;
+            double velocity = history.get(frame, Telemetry.SPEED);
+            double height = history.get(frame, Telemetry.ALTITUDE);
+            double bank = history.get(frame, Telemetry.ROLL);
+            if (Double.isNaN(velocity) || Double.isNaN(height) || Double.isNaN(bank))
+                continue;
+            time[count] = stamp;
+            speed[count] = velocity;
+            altitude[count] = height;
+            roll[count] = bank;
+            pitch = history.get(frame, Telemetry.PITCH);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Least-squares rate of change per second, or 0 without a time span.
+     */
+    private double slope(double[] values, int count) {
+        if (count < 2)
+            return 0.0;
+        double meanTime = 0.0;
+        double meanValue = 0.0;
+        for (int i = 0; i < count; i++) {
+            meanTime += time[i];
+            meanValue += values[i];
+        }
+        meanTime /= count;
+        meanValue /= count;
+        double covariance = 0.0;
+        double variance = 0.0;
+        for (int i = 0; i < count; i++) {
+            double dt = time[i] - meanTime;
+            covariance += dt * (values[i] - meanValue);
+            variance += dt * dt;
+        }
+        return variance > 1e-9 ? covariance / variance : 0.0;
+    }
+
+    public double getSpeed() {
+        return predictedSpeed;
+    }
+
+    public double getAltitude() {
+        return predictedAltitude;
+    }
+
+    public double getBank() {
+        return predictedBank;
+    }
+
+    /**
+     * Predicted speed above the stall speed at the predicted bank, in kts.
+     */
+    public double getSpeedMargin() {
+        return speedMargin;
+    }
+
+    /**
+     * Predicted altitude above the minimum altitude, in ft.
+     */
+    public double getAltitudeMargin() {
+        return altitudeMargin;
+    }
+
+    /**
+     * Predicted bank below the bank limit, in degrees.
+     */
+    public double getBankMargin() {
+        return bankMargin;
+    }
+}
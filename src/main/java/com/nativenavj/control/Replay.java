@@ -0,0 +1,130 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Axis;
+import com.nativenavj.domain.Command;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Recorder;
+import com.nativenavj.domain.Recording;
+import com.nativenavj.domain.Target;
+import com.nativenavj.domain.Telemetry;
+import com.nativenavj.port.Aircraft;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Deterministic replay of a recorded flight.
+ * Publishes every recorded telemetry frame and runs the active tasks on the
+ * calling thread through a Sequencer. Acts as the Aircraft of an Orchestrator
+ * that is never run, so the controller outputs are collected as a command
+ * stream.
+ */
+public class Replay implements Aircraft {
+    private static final Logger log = LoggerFactory.getLogger(Replay.class);
+
+    private final Memory memory;
+    private final double speed;
+    private final List<Command> commands = new ArrayList<>();
+    private final Sequencer sequencer;
+    private long frames;
+
+    /**
+     * @param memory the blackboard the Orchestrator registered its tasks on
+     * @param speed  the multiple of real time, or 0 to run as fast as possible
+     */
+    public Replay(Memory memory, double speed) {
+        this.memory = memory;
+        this.speed = speed;
+        this.sequencer = new Sequencer(memory);
+    }
+
+    /**
+     * Replays every frame of the recording.
+     *
+     * @return the commands produced by the controllers
+     */
+    public List<Command> play(Recording recording) {
+        Telemetry telemetry = memory.getTelemetry();
+        long start = System.nanoTime();
+        double first = Double.NaN;
+        sequencer.reset();
+
+        while (recording.next()) {
+            switch (recording.getKind()) {
+                case STATE -> {
+                    double time = recording.getTime();
+                    if (Double.isNaN(first))
+                        first = time;
+                    if (speed > 0)
+                        pace(start, (time - first) / speed);
+                    telemetry.copy(recording.getValues(), 0, 0, Telemetry.SIZE);
+                    telemetry.publish();
+                    frames++;
+                    sequencer.step(time);
+                }
+                case TARGET -> {
+                    // Recorded targets drive the controllers when the Computer does not
+                    if (!memory.isActive("COMPUTER")) {
+                        memory.setTarget(new Target(recording.getValue(0), recording.getValue(1),
+                                recording.getValue(2), recording.getValue(3)));
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        log.info("Replayed {} frames into {} commands", frames, commands.size());
+        return List.copyOf(commands);
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    @Override
+    public void setElevator(double value) {
+        command(Axis.ELEVATOR, value);
+    }
+
+    @Override
+    public void setAileron(double value) {
+        command(Axis.AILERON, value);
+    }
+
+    @Override
+    public void setRudder(double value) {
+        command(Axis.RUDDER, value);
+    }
+
+    @Override
+    public void setThrottle(double value) {
+        command(Axis.THROTTLE, value);
+    }
+
+    /**
+     * Returns the commands of a recording as the Connector sent them, for comparison.
+     */
+    public static List<Command> commands(Recording recording) {
+        List<Command> result = new ArrayList<>();
+        while (recording.next()) {
+            if (recording.getKind() == Recorder.Kind.COMMAND) {
+                result.add(new Command(recording.getTime(), Axis.values()[recording.getChannel()],
+                        recording.getValue(0)));
+            }
+        }
+        return result;
+    }
+
+    private void command(Axis axis, double value) {
+        commands.add(new Command(memory.getTelemetry().get(Telemetry.TIME), axis, value));
+    }
+
+    private static void pace(long start, double seconds) {
+        long wait = start + (long) (seconds * 1e9) - System.nanoTime();
+        if (wait > 0)
+            LockSupport.parkNanos(wait);
+    }
+}
@@ -0,0 +1,84 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Memory;
+
+import java.util.Arrays;
+
+/**
+ * Runs the registered control tasks deterministically on simulator time.
+ * Within a frame the tasks run in a fixed order, targets first, and each task
+ * runs when the simulator time reaches its next period on its own Loop
+ * frequency, or on an integer divisor of the telemetry frame count.
+ * Nothing depends on the wall clock or on thread scheduling.
+ */
+public class Sequencer {
+    private static final String[] ORDER = { "COMPUTER", "PITCH", "ROLL", "YAW", "THROTTLE", "BANK" };
+    private static final double TOLERANCE = 1e-6; // s, absorbs rounding of the period grid
+
+    private final Memory memory;
+    private final double[] due = new double[ORDER.length];
+
+    public Sequencer(Memory memory) {
+        this.memory = memory;
+        reset();
+    }
+
+    /**
+     * Returns true for the tasks the Sequencer runs.
+     */
+    public static boolean contains(String name) {
+        for (String task : ORDER) {
+            if (task.equalsIgnoreCase(name))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Forgets the period grid, so every active task runs on the next step.
+     */
+    public void reset() {
+        Arrays.fill(due, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Runs the active tasks that are due at the given simulator time. Caller thread only.
+     */
+    public void step(double time) {
+        for (int i = 0; i < ORDER.length; i++) {
+            Loop loop = memory.getLoop(ORDER[i]);
+            Runnable task = memory.getRunnable(ORDER[i]);
+            if (task == null || loop == null || !loop.status() || loop.frequency() <= 0)
+                continue;
+            if (time < due[i] - TOLERANCE)
+                continue;
+            task.run();
+            double period = 1.0 / loop.frequency();
+            // Stay on the period grid unless the simulator time jumped
+            due[i] = time - due[i] > period ? time + period : due[i] + period;
+        }
+    }
+
+    /**
+     * Runs one frame counted in telemetry frames. The fastest active task runs
+     * every frame; slower tasks run every n-th frame, n being the integer ratio
+     * of the fastest frequency to theirs. Caller thread only.
+     */
+    public void cycle(long frame) {
+        double fastest = 0;
+        for (String name : ORDER) {
+            Loop loop = memory.getLoop(name);
+            if (loop != null && loop.status())
+                fastest = Math.max(fastest, loop.frequency());
+        }
+        for (String name : ORDER) {
+            Loop loop = memory.getLoop(name);
+            Runnable task = memory.getRunnable(name);
+            if (task == null || loop == null || !loop.status() || loop.frequency() <= 0)
+                continue;
+            long divisor = Math.max(1, Math.round(fastest / loop.frequency()));
+            if (frame % divisor == 0)
+                task.run();
+        }
+    }
+}
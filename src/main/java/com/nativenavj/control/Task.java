@@ -0,0 +1,124 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Instrumented wrapper of a periodically scheduled Runnable.
+ * Records the period jitter and the execution time in histograms and counts
+ * overruns (execution longer than the period) and missed deadlines (start
+ * more than one period late). After a stall the scheduler runs the missed
+ * executions back to back; the policy decides whether they run or are
+ * skipped.
+ */
+public class Task implements Runnable {
+
+    /**
+     * Catch-up policy after a stall.
+     * BURST runs every late execution, SKIP drops them until the task is back on its grid.
+     */
+    public enum Policy {
+        BURST,
+        SKIP
+    }
+
+    private final String name;
+    private final Runnable runnable;
+    private final long period;
+    private final Policy policy;
+    private final Histogram jitter = new Histogram();
+    private final Histogram execution = new Histogram();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong overrun = new AtomicLong();
+    private final AtomicLong missed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    // Owned by the executing thread; a fixed-rate schedule never overlaps itself
+    private long expected;
+    private long last;
+
+    /**
+     * @param period the scheduled period in nanoseconds
+     */
+    public Task(String name, Runnable runnable, long period, Policy policy) {
+        this.name = name;
+        this.runnable = runnable;
+        this.period = period;
+        this.policy = policy;
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        if (last != 0) {
+            jitter.record(Math.abs(start - last - period));
+        } else {
+            expected = start;
+        }
+        last = start;
+        long lateness = start - expected;
+        expected += period;
+        if (lateness > period) {
+            missed.incrementAndGet();
+            if (policy == Policy.SKIP) {
+                skipped.incrementAndGet();
+                return;
+            }
+        }
+
+        runnable.run();
+        long elapsed = System.nanoTime() - start;
+        execution.record(elapsed);
+        runs.incrementAndGet();
+        if (elapsed > period)
+            overrun.incrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Runnable getRunnable() {
+        return runnable;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public Histogram getJitter() {
+        return jitter;
+    }
+
+    public Histogram getExecution() {
+        return execution;
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    public long getOverrun() {
+        return overrun.get();
+    }
+
+    public long getMissed() {
+        return missed.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Returns a one-line summary with times in microseconds.
+     */
+    public String report() {
+        return String.format(
+                "%s runs=%d jitter p50<%d p99<%d max=%d exec p50<%d p99<%d max=%d overrun=%d missed=%d skipped=%d policy=%s",
+                name, getRuns(), jitter.getPercentile(0.5), jitter.getPercentile(0.99), jitter.getMaximum(),
+                execution.getPercentile(0.5), execution.getPercentile(0.99), execution.getMaximum(), getOverrun(),
+                getMissed(), getSkipped(), policy);
+    }
+}
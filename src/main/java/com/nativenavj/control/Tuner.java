@@ -0,0 +1,280 @@
+package com.nativenavj.control;
+
+import com.nativenavj.adapter.Airframe;
+import com.nativenavj.domain.Axis;
+import com.nativenavj.domain.Configuration;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.State;
+import com.nativenavj.domain.Telemetry;
+import com.nativenavj.port.Actuator;
+import com.nativenavj.port.Aircraft;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless PID auto-tuner.
+ * A relay-feedback experiment against the Airframe finds the ultimate gain
+ * and period of an axis; Ziegler-Nichols turns them into a seed, and a grid
+ * of candidates around the seed is flown as step-response trials in
+ * parallel on a fork/join pool. Every trial owns its Memory, Airframe and
+ * Controller, so trials share nothing and run as fast as the cores allow.
+ */
+public class Tuner {
+    private static final Logger log = LoggerFactory.getLogger(Tuner.class);
+
+    public static final double DURATION = 20.0; // s of simulator time per trial
+    private static final double STEP = Lockstep.STEP;
+    private static final double HYSTERESIS = 0.02; // relay band as a fraction of the setpoint step
+    private static final double OVERSHOOT = 10.0; // cost weight of the overshoot
+    private static final int THRESHOLD = 4; // candidates flown by one fork/join leaf
+
+    private static final double[] PROPORTION = { 1.0 / 16, 1.0 / 8, 1.0 / 4, 1.0 / 2, 1.0, 2.0 };
+    private static final double[] RATIO = { 0.0, 0.25, 1.0, 4.0 };
+
+    /**
+     * The model of one control axis: the surface it moves, the telemetry field
+     * it feeds back, the initial state and the setpoint step of a trial.
+     */
+    private record Plant(Axis axis, int field, State initial, double step) {
+    }
+
+    /**
+     * A candidate and the cost of its trial.
+     */
+    public record Result(Configuration configuration, double cost) {
+    }
+
+    private final Memory memory;
+    private final Orchestrator orchestrator;
+    private final ForkJoinPool pool;
+
+    public Tuner(Memory memory) {
+        this(memory, null, ForkJoinPool.commonPool());
+    }
+
+    public Tuner(Memory memory, Orchestrator orchestrator) {
+        this(memory, orchestrator, ForkJoinPool.commonPool());
+    }
+
+    public Tuner(Memory memory, Orchestrator orchestrator, ForkJoinPool pool) {
+        this.memory = memory;
+        this.orchestrator = orchestrator;
+        this.pool = pool;
+    }
+
+    /**
+     * Tunes a controller and applies the best gains. With an Orchestrator they
+     * go through Orchestrator.configure like SET, so the Bank axis gets them
+     * too; otherwise they are written to the profile and the running Controller.
+     * An axis flown by a gain table is refused, since the table would override
+     * the tuned gains.
+     *
+     * @return the best trial, which is the current profile if nothing beat it
+     */
+    public Result tune(String name) {
+        String key = name.toUpperCase();
+        Plant plant = plant(key);
+        Configuration base = memory.getProfile(key);
+        if (base == null)
+            throw new IllegalArgumentException("No profile for " + key);
+        if (memory.getTable(key) != null)
+            throw new IllegalArgumentException(key + " flies a gain table, detach it before tuning");
+
+        long start = System.nanoTime();
+        Configuration seed = relay(plant, base);
+        List<Configuration> candidates = candidates(seed, base);
+        Result best = pool.invoke(new Search(plant, candidates, 0, candidates.size()));
+
+        if (orchestrator != null) {
+            orchestrator.configure(key, best.configuration(), null, null);
+        } else {
+            memory.setProfile(key, best.configuration());
+            if (memory.getRunnable(key) instanceof Controller controller) {
+                controller.configure(best.configuration());
+            }
+        }
+        log.info("Tuned {} with {} trials in {} ms: {} (cost {})", key, candidates.size(),
+                (System.nanoTime() - start) / 1_000_000, best.configuration(), best.cost());
+        return best;
+    }
+
+    /**
+     * Flies one step-response trial of an axis.
+     *
+     * @return the time-weighted absolute error plus the weighted overshoot,
+     *         normalized by the step; infinite if the response diverged
+     */
+    public static double evaluate(String name, Configuration configuration) {
+        return evaluate(plant(name.toUpperCase()), configuration);
+    }
+
+    private static double evaluate(Plant plant, Configuration configuration) {
+        Memory local = new Memory();
+        Airframe airframe = new Airframe(local, plant.initial());
+        Telemetry telemetry = local.getTelemetry();
+        double target = telemetry.get(plant.field()) + plant.step();
+        double size = Math.abs(plant.step());
+        Controller controller = new Controller(() -> target, actuator(plant.axis(), airframe),
+                reading -> telemetry.sample(plant.field(), reading), configuration);
+
+        double cost = 0.0;
+        double overshoot = 0.0;
+        long count = Math.round(DURATION / STEP);
+        for (long frame = 1; frame <= count; frame++) {
+            controller.run();
+            airframe.step(STEP);
+            double error = target - telemetry.get(plant.field());
+            if (!Double.isFinite(error))
+                return Double.POSITIVE_INFINITY;
+            cost += frame * STEP * Math.abs(error) * STEP;
+            overshoot = Math.max(overshoot, -error * Math.signum(plant.step()));
+        }
+        return (cost + OVERSHOOT * overshoot) / size;
+    }
+
+    /**
+     * Runs a relay with hysteresis around the setpoint and derives
+     * Ziegler-Nichols gains from the limit cycle.
+     *
+     * @return the seed, or the base gains if the axis did not oscillate
+     */
+    private static Configuration relay(Plant plant, Configuration base) {
+        Memory local = new Memory();
+        Airframe airframe = new Airframe(local, plant.initial());
+        Telemetry telemetry = local.getTelemetry();
+        Actuator actuator = actuator(plant.axis(), airframe);
+        double target = telemetry.get(plant.field()) + plant.step();
+        double band = HYSTERESIS * Math.abs(plant.step());
+        double bias = (base.maximum() + base.minimum()) / 2;
+        double amplitude = (base.maximum() - base.minimum()) / 2;
+
+        double sign = 1.0;
+        int switches = 0;
+        double first = 0.0;
+        double last = 0.0;
+        double high = Double.NEGATIVE_INFINITY;
+        double low = Double.POSITIVE_INFINITY;
+        long count = Math.round(DURATION / STEP);
+        for (long frame = 1; frame <= count; frame++) {
+            actuator.setSignal(bias + sign * amplitude);
+            airframe.step(STEP);
+            double value = telemetry.get(plant.field());
+            double error = target - value;
+            double next = error > band ? 1.0 : error < -band ? -1.0 : sign;
+            if (next != sign) {
+                sign = next;
+                switches++;
+                // Skip the approach, then measure the limit cycle
+                if (switches == 2) {
+                    first = frame * STEP;
+                    high = Double.NEGATIVE_INFINITY;
+                    low = Double.POSITIVE_INFINITY;
+                }
+                last = frame * STEP;
+            }
+            if (switches >= 2) {
+                high = Math.max(high, value);
+                low = Math.min(low, value);
+            }
+        }
+        if (switches < 6 || high <= low) {
+            log.warn("No limit cycle on {}, seeding with the current gains", plant.axis());
+            return base;
+        }
+
+        double period = 2 * (last - first) / (switches - 2);
+        double ultimate = 4 * amplitude / (Math.PI * (high - low) / 2);
+        double proportion = 0.6 * ultimate;
+        return new Configuration(proportion, 2 * proportion / period, proportion * period / 8, base.minimum(),
+                base.maximum());
+    }
+
+    /**
+     * Returns a grid around the seed, with the base gains first.
+     */
+    private static List<Configuration> candidates(Configuration seed, Configuration base) {
+        List<Configuration> candidates = new ArrayList<>();
+        candidates.add(base);
+        for (double proportion : PROPORTION) {
+            for (double integral : RATIO) {
+                for (double derivative : RATIO) {
+                    candidates.add(new Configuration(seed.proportion() * proportion, seed.integral() * integral,
+                            seed.derivative() * derivative, base.minimum(), base.maximum()));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static Plant plant(String name) {
+        return switch (name) {
+            case "PITCH" -> new Plant(Axis.ELEVATOR, Telemetry.PITCH, level(0, 120), 5.0);
+            case "ROLL" -> new Plant(Axis.AILERON, Telemetry.ROLL, level(0, 120), 20.0);
+            case "YAW" -> new Plant(Axis.RUDDER, Telemetry.YAW, level(0, 120), 5.0);
+            // Climb follows the airspeed the throttle sets at a fixed pitch
+            case "THROTTLE" -> new Plant(Axis.THROTTLE, Telemetry.CLIMB, level(5, 100), 2.5);
+            default -> throw new IllegalArgumentException("No model for " + name);
+        };
+    }
+
+    private static State level(double pitch, double speed) {
+        double climb = speed * 1.68781 * Math.sin(Math.toRadians(pitch));
+        return new State(47.0, 8.0, 90.0, 5000.0, 0.0, pitch, 90.0, speed, climb, 0.0);
+    }
+
+    private static Actuator actuator(Axis axis, Aircraft aircraft) {
+        return switch (axis) {
+            case ELEVATOR -> aircraft::setElevator;
+            case AILERON -> aircraft::setAileron;
+            case RUDDER -> aircraft::setRudder;
+            case THROTTLE -> aircraft::setThrottle;
+        };
+    }
+
+    /**
+     * Flies a range of candidates, splitting it until a leaf is small enough.
+     */
+    private static class Search extends RecursiveTask<Result> {
+        private final Plant plant;
+        private final List<Configuration> candidates;
+        private final int from;
+        private final int to;
+
+        Search(Plant plant, List<Configuration> candidates, int from, int to) {
+            this.plant = plant;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= THRESHOLD) {
+                Result best = null;
+                for (int i = from; i < to; i++) {
+                    Configuration candidate = candidates.get(i);
+                    Result result = new Result(candidate, evaluate(plant, candidate));
+                    best = better(best, result);
+                }
+                return best;
+            }
+            int middle = (from + to) >>> 1;
+            Search left = new Search(plant, candidates, from, middle);
+            left.fork();
+            Result right = new Search(plant, candidates, middle, to).compute();
+            return better(left.join(), right);
+        }
+
+        private static Result better(Result first, Result second) {
+            // Ties keep the earlier candidate, so the base gains win unless beaten
+            if (first == null)
+                return second;
+            return second.cost() < first.cost() ? second : first;
+        }
+    }
+}
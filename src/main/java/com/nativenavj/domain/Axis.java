@@ -0,0 +1,11 @@
+package com.nativenavj.domain;
+
+/**
+ * Control axis of the aircraft.
+ */
+public enum Axis {
+    ELEVATOR,
+    AILERON,
+    RUDDER,
+    THROTTLE
+}
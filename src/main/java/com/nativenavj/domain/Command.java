@@ -0,0 +1,7 @@
+package com.nativenavj.domain;
+
+/**
+ * A single actuator command at a specific simulator time.
+ */
+public record Command(double time, Axis axis, double value) {
+}
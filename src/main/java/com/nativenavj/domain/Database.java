@@ -0,0 +1,427 @@
+package com.nativenavj.domain;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * Memory-mapped navigation database of airports, runways, navaids and fixes.
+ * The file is built once from a text source and then mapped read-only, so
+ * opening it parses nothing. An open-addressing hash table finds idents and
+ * an implicit k-d tree over earth-centred unit vectors answers nearest-N and
+ * within-radius queries without allocating.
+ */
+public class Database implements AutoCloseable {
+
+    /**
+     * Kind of a navigation record.
+     */
+    public enum Kind {
+        AIRPORT,
+        RUNWAY,
+        NAVAID,
+        FIX
+    }
+
+    // Header layout: magic(4) version(4) count(4) buckets(4) records(8) hash(8) tree(8)
+    private static final int MAGIC = 0x4E415644; // NAVD
+    private static final int VERSION = 1;
+    private static final long HEADER = 64;
+    private static final long COUNT = 8;
+    private static final long BUCKETS = 12;
+    private static final long RECORDS = 16;
+    private static final long HASH = 24;
+    private static final long TREE = 32;
+
+    // Record layout: kind(4) pad(4) ident(8) latitude(8) longitude(8) elevation(8) value(8)
+    public static final int WIDTH = 48;
+    private static final long KIND = 0;
+    private static final long IDENT = 8;
+    private static final long LATITUDE = 16;
+    private static final long LONGITUDE = 24;
+    private static final long ELEVATION = 32;
+    private static final long VALUE = 40;
+
+    // Tree node layout: record(4) pad(4) x(8) y(8) z(8)
+    private static final int NODE = 32;
+
+    public static final int ALL = (1 << Kind.values().length) - 1;
+    private static final Kind[] KINDS = Kind.values();
+
+    private final Arena arena = Arena.ofShared();
+    private final MemorySegment file;
+    private final int count;
+    private final int mask;
+    private final long records;
+    private final long hash;
+    private final long tree;
+
+    /**
+     * Maps a database file built by {@link #build}.
+     */
+    public Database(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+        }
+        if (file.byteSize() < HEADER || file.get(JAVA_INT, 0) != MAGIC || file.get(JAVA_INT, 4) != VERSION) {
+            arena.close();
+            throw new IOException("Not a navigation database: " + path);
+        }
+        count = file.get(JAVA_INT, COUNT);
+        mask = file.get(JAVA_INT, BUCKETS) - 1;
+        records = file.get(JAVA_LONG, RECORDS);
+        hash = file.get(JAVA_LONG, HASH);
+        tree = file.get(JAVA_LONG, TREE);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Finds the first record of an ident.
+     *
+     * @return the record index, or -1 if the ident is unknown
+     */
+    public int find(String ident) {
+        return find(ident, ALL);
+    }
+
+    /**
+     * Finds the first record of an ident among the kinds of a mask.
+     *
+     * @param kinds a bit per Kind ordinal, see {@link #mask}
+     * @return the record index, or -1 if the ident is unknown or longer than any ident
+     */
+    public int find(String ident, int kinds) {
+        if (ident.length() > 8)
+            return -1;
+        long key = encode(ident);
+        for (int bucket = spread(key) & mask;; bucket = (bucket + 1) & mask) {
+            int entry = file.get(JAVA_INT, hash + (long) bucket * 4);
+            if (entry == 0)
+                return -1;
+            int index = entry - 1;
+            if (key(index) == key && (kinds & (1 << kindOrdinal(index))) != 0)
+                return index;
+        }
+    }
+
+    /**
+     * Finds the records nearest to a position, closest first.
+     *
+     * @param kinds    a bit per Kind ordinal, see {@link #mask}
+     * @param found    caller-owned array that receives the record indices; its length is N
+     * @param distance caller-owned array of the same length that receives the distances in NM
+     * @return the number of records found
+     */
+    public int nearest(double latitude, double longitude, int kinds, int[] found, double[] distance) {
+        if (found.length == 0)
+            return 0;
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double x = Math.cos(phi) * Math.cos(lambda);
+        double y = Math.cos(phi) * Math.sin(lambda);
+        double z = Math.sin(phi);
+        int size = nearest(0, count, 0, x, y, z, kinds, found, distance, 0);
+        for (int i = 0; i < size; i++) {
+            distance[i] = Sphere.chord(distance[i]);
+        }
+        return size;
+    }
+
+    /**
+     * Finds the records within a radius of a position, in no particular order.
+     *
+     * @param radius the radius in NM
+     * @param kinds  a bit per Kind ordinal, see {@link #mask}
+     * @param found  caller-owned array that receives the record indices
+     * @return the number of records stored, at most the length of found
+     */
+    public int within(double latitude, double longitude, double radius, int kinds, int[] found) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        return within(0, count, 0, Math.cos(phi) * Math.cos(lambda), Math.cos(phi) * Math.sin(lambda),
+                Math.sin(phi), Sphere.squared(radius), kinds, found, 0);
+    }
+
+    public Kind getKind(int index) {
+        return KINDS[kindOrdinal(index)];
+    }
+
+    public String getIdent(int index) {
+        return decode(key(index));
+    }
+
+    public double getLatitude(int index) {
+        return field(index, LATITUDE);
+    }
+
+    public double getLongitude(int index) {
+        return field(index, LONGITUDE);
+    }
+
+    /**
+     * @return the elevation in feet
+     */
+    public double getElevation(int index) {
+        return field(index, ELEVATION);
+    }
+
+    /**
+     * @return the runway heading, the navaid frequency, or 0
+     */
+    public double getValue(int index) {
+        return field(index, VALUE);
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Returns the mask of the given kinds.
+     */
+    public static int mask(Kind... kinds) {
+        int mask = 0;
+        for (Kind kind : kinds) {
+            mask |= 1 << kind.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * Builds a database file from a source. A directory holding the OurAirports
+     * CSV files is imported by the {@link Importer}. Otherwise the source is a
+     * text file whose non-empty lines that do not start with '#' hold:
+     * kind,ident,latitude,longitude,elevation,value.
+     */
+    public static void build(Path source, Path target) throws IOException {
+        List<String[]> rows = Importer.accepts(source) ? Importer.read(source) : rows(source);
+        int size = rows.size();
+        int buckets = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+        long records = HEADER;
+        long hash = records + (long) size * WIDTH;
+        long tree = hash + ((long) buckets * 4 + 7) / 8 * 8;
+        long length = tree + (long) size * NODE;
+
+        Files.deleteIfExists(target);
+        try (Arena local = Arena.ofConfined();
+                FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_WRITE, 0, length, local);
+            file.set(JAVA_INT, 0, MAGIC);
+            file.set(JAVA_INT, 4, VERSION);
+            file.set(JAVA_INT, COUNT, size);
+            file.set(JAVA_INT, BUCKETS, buckets);
+            file.set(JAVA_LONG, RECORDS, records);
+            file.set(JAVA_LONG, HASH, hash);
+            file.set(JAVA_LONG, TREE, tree);
+
+            double[] vector = new double[size * 3];
+            for (int i = 0; i < size; i++) {
+                String[] field = rows.get(i);
+                long offset = records + (long) i * WIDTH;
+                long key = encode(field[1]);
+                double latitude = Double.parseDouble(field[2]);
+                double longitude = Double.parseDouble(field[3]);
+                file.set(JAVA_INT, offset + KIND, Kind.valueOf(field[0].toUpperCase()).ordinal());
+                file.set(JAVA_LONG, offset + IDENT, key);
+                file.set(JAVA_DOUBLE, offset + LATITUDE, latitude);
+                file.set(JAVA_DOUBLE, offset + LONGITUDE, longitude);
+                file.set(JAVA_DOUBLE, offset + ELEVATION, Double.parseDouble(field[4]));
+                file.set(JAVA_DOUBLE, offset + VALUE, Double.parseDouble(field[5]));
+                Sphere.vector(latitude, longitude, vector, i * 3);
+
+                // Linear probing keeps the first record of an ident first
+                int bucket = spread(key) & (buckets - 1);
+                while (file.get(JAVA_INT, hash + (long) bucket * 4) != 0) {
+                    bucket = (bucket + 1) & (buckets - 1);
+                }
+                file.set(JAVA_INT, hash + (long) bucket * 4, i + 1);
+            }
+
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            split(order, vector, 0, size, 0);
+            for (int i = 0; i < size; i++) {
+                long offset = tree + (long) i * NODE;
+                file.set(JAVA_INT, offset, order[i]);
+                file.set(JAVA_DOUBLE, offset + 8, vector[order[i] * 3]);
+                file.set(JAVA_DOUBLE, offset + 16, vector[order[i] * 3 + 1]);
+                file.set(JAVA_DOUBLE, offset + 24, vector[order[i] * 3 + 2]);
+            }
+            file.force();
+        }
+    }
+
+    private static List<String[]> rows(Path source) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        for (String line : Files.readAllLines(source)) {
+            String text = line.trim();
+            if (text.isEmpty() || text.startsWith("#"))
+                continue;
+            String[] field = text.split("\\s*,\\s*");
+            if (field.length != 6)
+                throw new IllegalArgumentException("Expected 6 fields: " + text);
+            rows.add(field);
+        }
+        return rows;
+    }
+
+    private int nearest(int from, int to, int depth, double x, double y, double z, int kinds, int[] found,
+            double[] distance, int size) {
+        if (from >= to)
+            return size;
+        int middle = (from + to) >>> 1;
+        long node = tree + (long) middle * NODE;
+        double dx = x - file.get(JAVA_DOUBLE, node + 8);
+        double dy = y - file.get(JAVA_DOUBLE, node + 16);
+        double dz = z - file.get(JAVA_DOUBLE, node + 24);
+        int index = file.get(JAVA_INT, node);
+        if ((kinds & (1 << kindOrdinal(index))) != 0) {
+            size = insert(index, dx * dx + dy * dy + dz * dz, found, distance, size);
+        }
+
+        double split = depth % 3 == 0 ? dx : depth % 3 == 1 ? dy : dz;
+        boolean lower = split < 0;
+        size = nearest(lower ? from : middle + 1, lower ? middle : to, depth + 1, x, y, z, kinds, found, distance,
+                size);
+        if (size < found.length || split * split < distance[size - 1]) {
+            size = nearest(lower ? middle + 1 : from, lower ? to : middle, depth + 1, x, y, z, kinds, found,
+                    distance, size);
+        }
+        return size;
+    }
+
+    /**
+     * Inserts a candidate into the sorted result arrays, dropping the farthest when full.
+     */
+    private static int insert(int index, double squared, int[] found, double[] distance, int size) {
+        if (size == found.length && squared >= distance[size - 1])
+            return size;
+        int position = Math.min(size, found.length - 1);
+        while (position > 0 && distance[position - 1] > squared) {
+            found[position] = found[position - 1];
+            distance[position] = distance[position - 1];
+            position--;
+        }
+        found[position] = index;
+        distance[position] = squared;
+        return Math.min(size + 1, found.length);
+    }
+
+    private int within(int from, int to, int depth, double x, double y, double z, double radius, int kinds,
+            int[] found, int size) {
+        if (from >= to || size == found.length)
+            return size;
+        int middle = (from + to) >>> 1;
+        long node = tree + (long) middle * NODE;
+        double dx = x - file.get(JAVA_DOUBLE, node + 8);
+        double dy = y - file.get(JAVA_DOUBLE, node + 16);
+        double dz = z - file.get(JAVA_DOUBLE, node + 24);
+        int index = file.get(JAVA_INT, node);
+        if (dx * dx + dy * dy + dz * dz <= radius && (kinds & (1 << kindOrdinal(index))) != 0) {
+            found[size++] = index;
+        }
+
+        double split = depth % 3 == 0 ? dx : depth % 3 == 1 ? dy : dz;
+        if (split < 0 || split * split <= radius) {
+            size = within(from, middle, depth + 1, x, y, z, radius, kinds, found, size);
+        }
+        if (split >= 0 || split * split <= radius) {
+            size = within(middle + 1, to, depth + 1, x, y, z, radius, kinds, found, size);
+        }
+        return size;
+    }
+
+    /**
+     * Arranges the range so that every middle element splits its subtree on the axis of its depth.
+     */
+    private static void split(int[] order, double[] vector, int from, int to, int depth) {
+        if (to - from <= 1)
+            return;
+        int middle = (from + to) >>> 1;
+        select(order, vector, depth % 3, from, to - 1, middle);
+        split(order, vector, from, middle, depth + 1);
+        split(order, vector, middle + 1, to, depth + 1);
+    }
+
+    /**
+     * Quickselect: moves the k-th smallest coordinate of the range to position k.
+     */
+    private static void select(int[] order, double[] vector, int axis, int left, int right, int k) {
+        while (left < right) {
+            double pivot = vector[order[(left + right) >>> 1] * 3 + axis];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (vector[order[i] * 3 + axis] < pivot)
+                    i++;
+                while (vector[order[j] * 3 + axis] > pivot)
+                    j--;
+                if (i <= j) {
+                    int swap = order[i];
+                    order[i++] = order[j];
+                    order[j--] = swap;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private int kindOrdinal(int index) {
+        return file.get(JAVA_INT, records + (long) index * WIDTH + KIND);
+    }
+
+    private long key(int index) {
+        return file.get(JAVA_LONG, records + (long) index * WIDTH + IDENT);
+    }
+
+    private double field(int index, long field) {
+        return file.get(JAVA_DOUBLE, records + (long) index * WIDTH + field);
+    }
+
+    /**
+     * Packs an ident of up to eight ASCII characters into a long, upper case.
+     */
+    static long encode(String ident) {
+        if (ident.length() > 8)
+            throw new IllegalArgumentException("Ident longer than 8 characters: " + ident);
+        long key = 0;
+        for (int i = 0; i < ident.length(); i++) {
+            key |= (long) (Character.toUpperCase(ident.charAt(i)) & 0xFF) << (8 * i);
+        }
+        return key;
+    }
+
+    private static String decode(long key) {
+        StringBuilder ident = new StringBuilder(8);
+        for (int i = 0; i < 8 && (key >>> (8 * i)) != 0; i++) {
+            ident.append((char) ((key >>> (8 * i)) & 0xFF));
+        }
+        return ident.toString();
+    }
+
+    private static int spread(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
@@ -0,0 +1,206 @@
+package com.nativenavj.domain;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable airway graph in compressed sparse row form.
+ * Waypoints are numbered nodes with positions and unit vectors; the edges
+ * of node i are targets[offsets[i]] to targets[offsets[i + 1] - 1] with
+ * their great-circle lengths in the parallel weights array.
+ */
+public class Graph {
+    private final String[] name;
+    private final double[] latitude;
+    private final double[] longitude;
+    private final double[] vector; // 3 per node
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights; // NM
+    private final Map<String, Integer> index = new HashMap<>();
+
+    /**
+     * @param name      the node names
+     * @param latitude  the node latitudes in degrees
+     * @param longitude the node longitudes in degrees
+     * @param from      the start node of every directed edge
+     * @param to        the end node of every directed edge
+     */
+    public Graph(String[] name, double[] latitude, double[] longitude, int[] from, int[] to) {
+        int size = name.length;
+        if (latitude.length != size || longitude.length != size || from.length != to.length)
+            throw new IllegalArgumentException("Graph arrays do not match");
+        this.name = name.clone();
+        this.latitude = latitude.clone();
+        this.longitude = longitude.clone();
+        this.vector = new double[size * 3];
+        for (int i = 0; i < size; i++) {
+            Sphere.vector(latitude[i], longitude[i], vector, i * 3);
+            index.putIfAbsent(name[i].toUpperCase(), i);
+        }
+
+        // Counting sort of the edges by start node
+        offsets = new int[size + 1];
+        for (int start : from) {
+            offsets[start + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        targets = new int[from.length];
+        weights = new double[from.length];
+        int[] next = offsets.clone();
+        for (int edge = 0; edge < from.length; edge++) {
+            int slot = next[from[edge]]++;
+            targets[slot] = to[edge];
+            weights[slot] = Sphere.distance(latitude[from[edge]], longitude[from[edge]], latitude[to[edge]],
+                    longitude[to[edge]]);
+        }
+    }
+
+    /**
+     * Reads an airway file with positions from a navigation database. Each
+     * non-empty line that does not start with '#' holds: airway,from,to. Every
+     * segment is flyable in both directions.
+     */
+    public static Graph load(Database database, Path file) throws IOException {
+        List<String> names = new ArrayList<>();
+        Map<String, Integer> nodes = new HashMap<>();
+        List<int[]> segments = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            String text = line.trim();
+            if (text.isEmpty() || text.startsWith("#"))
+                continue;
+            String[] field = text.split("\\s*,\\s*");
+            if (field.length != 3)
+                throw new IllegalArgumentException("Expected 3 fields: " + text);
+            int[] segment = new int[2];
+            for (int i = 0; i < 2; i++) {
+                String ident = field[i + 1].toUpperCase();
+                segment[i] = nodes.computeIfAbsent(ident, key -> {
+                    names.add(key);
+                    return names.size() - 1;
+                });
+            }
+            segments.add(segment);
+        }
+
+        int size = names.size();
+        double[] latitude = new double[size];
+        double[] longitude = new double[size];
+        for (int i = 0; i < size; i++) {
+            int record = database.find(names.get(i));
+            if (record < 0)
+                throw new IllegalArgumentException("Unknown ident " + names.get(i));
+            latitude[i] = database.getLatitude(record);
+            longitude[i] = database.getLongitude(record);
+        }
+        int[] from = new int[segments.size() * 2];
+        int[] to = new int[segments.size() * 2];
+        for (int i = 0; i < segments.size(); i++) {
+            from[2 * i] = to[2 * i + 1] = segments.get(i)[0];
+            to[2 * i] = from[2 * i + 1] = segments.get(i)[1];
+        }
+        return new Graph(names.toArray(String[]::new), latitude, longitude, from, to);
+    }
+
+    public int size() {
+        return name.length;
+    }
+
+    public int getEdges() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the node of a name, or -1.
+     */
+    public int find(String ident) {
+        return index.getOrDefault(ident.toUpperCase(), -1);
+    }
+
+    /**
+     * Returns the node nearest to a position by a linear scan of the unit vectors.
+     */
+    public int nearest(double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double x = Math.cos(phi) * Math.cos(lambda);
+        double y = Math.cos(phi) * Math.sin(lambda);
+        double z = Math.sin(phi);
+        int best = -1;
+        double closest = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < name.length; i++) {
+            double dot = x * vector[i * 3] + y * vector[i * 3 + 1] + z * vector[i * 3 + 2];
+            if (dot > closest) {
+                closest = dot;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the first edge slot of a node.
+     */
+    public int getOffset(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * Returns the end of the edge slots of a node, exclusive.
+     */
+    public int getLimit(int node) {
+        return offsets[node + 1];
+    }
+
+    public int getTarget(int slot) {
+        return targets[slot];
+    }
+
+    public double getWeight(int slot) {
+        return weights[slot];
+    }
+
+    public String getName(int node) {
+        return name[node];
+    }
+
+    public double getLatitude(int node) {
+        return latitude[node];
+    }
+
+    public double getLongitude(int node) {
+        return longitude[node];
+    }
+
+    /**
+     * Returns the great-circle distance between two nodes from their unit vectors.
+     */
+    public double distance(int first, int second) {
+        double dx = vector[first * 3] - vector[second * 3];
+        double dy = vector[first * 3 + 1] - vector[second * 3 + 1];
+        double dz = vector[first * 3 + 2] - vector[second * 3 + 2];
+        return Sphere.chord(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Builds the Route through a path of nodes.
+     */
+    public Route route(int[] path) {
+        String[] names = new String[path.length];
+        double[] lat = new double[path.length];
+        double[] lon = new double[path.length];
+        for (int i = 0; i < path.length; i++) {
+            names[i] = name[path[i]];
+            lat[i] = latitude[path[i]];
+            lon[i] = longitude[path[i]];
+        }
+        return new Route(names, lat, lon);
+    }
+}
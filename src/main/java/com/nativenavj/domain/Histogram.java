@@ -0,0 +1,68 @@
+package com.nativenavj.domain;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations with power-of-two microsecond buckets.
+ * Bucket 0 counts durations below 1 us, bucket n counts [2^(n-1), 2^n) us.
+ * Recording is one array increment and never allocates.
+ */
+public class Histogram {
+    private static final int BUCKETS = 32;
+
+    private final AtomicLongArray bucket = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maximum = new AtomicLong();
+
+    /**
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos) / 1000;
+        bucket.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+        count.incrementAndGet();
+        total.addAndGet(micros);
+        maximum.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the largest duration in microseconds
+     */
+    public long getMaximum() {
+        return maximum.get();
+    }
+
+    /**
+     * @return the mean duration in microseconds
+     */
+    public double getMean() {
+        long current = count.get();
+        return current == 0 ? 0.0 : (double) total.get() / current;
+    }
+
+    /**
+     * Returns the upper bound of the bucket that holds the given fraction of the durations.
+     *
+     * @param fraction the fraction in [0, 1], e.g. 0.99
+     * @return the bound in microseconds, 0 when empty
+     */
+    public long getPercentile(double fraction) {
+        long current = count.get();
+        if (current == 0)
+            return 0;
+        long rank = (long) Math.ceil(fraction * current);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += bucket.get(i);
+            if (seen >= rank)
+                return 1L << i;
+        }
+        return getMaximum();
+    }
+}
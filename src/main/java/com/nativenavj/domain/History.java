@@ -0,0 +1,132 @@
+package com.nativenavj.domain;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+
+/**
+ * Fixed-capacity ring buffer of published telemetry frames.
+ * Frames are stored struct-of-arrays in one primitive array, one column per
+ * field. A single writer appends; readers never lock and detect frames that
+ * were overwritten while they read them.
+ */
+public class History {
+    private static final VarHandle COUNT;
+
+    static {
+        try {
+            COUNT = MethodHandles.lookup().findVarHandle(History.class, "count", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final int size;
+    private final double[] data;
+    private volatile long count;
+
+    /**
+     * @param capacity the number of frames kept, a power of two
+     * @param size     the number of fields per frame
+     */
+    public History(int capacity, int size) {
+        if (Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.size = size;
+        this.data = new double[capacity * size];
+    }
+
+    /**
+     * Appends one frame read from the staging segment. Writer thread only.
+     */
+    public void append(MemorySegment frame) {
+        long current = count;
+        int slot = (int) (current & mask);
+        for (int field = 0; field < size; field++) {
+            data[field * capacity + slot] = frame.getAtIndex(JAVA_DOUBLE, field);
+        }
+        COUNT.setRelease(this, current + 1);
+        // Order the next append's writes after the count that exposes them as stale
+        VarHandle.storeStoreFence();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of frames appended so far. The latest frame is count - 1.
+     */
+    public long getCount() {
+        return (long) COUNT.getAcquire(this);
+    }
+
+    /**
+     * Returns a field of an absolute frame number.
+     *
+     * @return the value, or NaN if the frame is not yet written or already overwritten
+     */
+    public double get(long frame, int field) {
+        if (frame < 0 || frame >= getCount())
+            return Double.NaN;
+        double value = data[field * capacity + (int) (frame & mask)];
+        VarHandle.loadLoadFence();
+        return valid(frame) ? value : Double.NaN;
+    }
+
+    /**
+     * Copies the latest values of a field, oldest first, into the caller-owned array.
+     *
+     * @return the number of values copied
+     */
+    public int copy(int field, double[] values) {
+        long latest = getCount();
+        int length = (int) Math.min(Math.min(values.length, latest), capacity - 1);
+        long first = latest - length;
+        for (int i = 0; i < length; i++) {
+            values[i] = data[field * capacity + (int) ((first + i) & mask)];
+        }
+        VarHandle.loadLoadFence();
+        return valid(first) ? length : 0;
+    }
+
+    /**
+     * Finds the latest frame whose time is at or before the given time.
+     * The first guess interpolates between the oldest and latest frame, so
+     * lookups take a few steps when frames arrive at a steady rate.
+     *
+     * @param field the field holding the frame time
+     * @return the frame number, or -1 if the time is older than the buffer
+     */
+    public long find(double time, int field) {
+        long latest = getCount() - 1;
+        long oldest = Math.max(0, latest - capacity + 2);
+        double last = get(latest, field);
+        double first = get(oldest, field);
+        if (latest < 0 || Double.isNaN(first) || Double.isNaN(last) || time < first)
+            return -1;
+        if (time >= last)
+            return latest;
+
+        long frame = oldest + (long) ((time - first) / (last - first) * (latest - oldest));
+        frame = Math.max(oldest, Math.min(latest, frame));
+        while (frame > oldest && get(frame, field) > time) {
+            frame--;
+        }
+        while (frame < latest && get(frame + 1, field) <= time) {
+            frame++;
+        }
+        return valid(frame) ? frame : -1;
+    }
+
+    private boolean valid(long frame) {
+        // The writer may be overwriting the slot of frame count - capacity
+        return getCount() - frame < capacity;
+    }
+}
@@ -0,0 +1,169 @@
+package com.nativenavj.domain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports the OurAirports open dataset (airports.csv, runways.csv and
+ * navaids.csv of one directory) into the rows of a navigation database.
+ * The files are RFC 4180 CSV: fields may be quoted and quoted fields may hold
+ * commas, doubled quotes and line breaks. Closed airports, runway ends
+ * without a position and idents longer than eight characters are skipped.
+ * The dataset has no enroute fixes.
+ */
+class Importer {
+    private static final Logger log = LoggerFactory.getLogger(Importer.class);
+
+    static final String AIRPORTS = "airports.csv";
+    static final String RUNWAYS = "runways.csv";
+    static final String NAVAIDS = "navaids.csv";
+    private static final int IDENT = 8; // characters an ident holds at most
+
+    private Importer() {
+    }
+
+    /**
+     * Returns whether a directory holds the OurAirports airports file.
+     */
+    static boolean accepts(Path source) {
+        return Files.isDirectory(source) && Files.exists(source.resolve(AIRPORTS));
+    }
+
+    /**
+     * Reads the dataset into rows of kind, ident, latitude, longitude, elevation and value.
+     * The runways and navaids files are optional.
+     */
+    static List<String[]> read(Path directory) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        Map<String, String> elevation = new HashMap<>();
+        for (Map<String, String> airport : table(directory.resolve(AIRPORTS))) {
+            String ident = airport.get("ident");
+            if ("closed".equals(airport.get("type")))
+                continue;
+            if (add(rows, "AIRPORT", ident, airport.get("latitude_deg"), airport.get("longitude_deg"),
+                    airport.get("elevation_ft"), "0"))
+                elevation.put(ident, airport.get("elevation_ft"));
+        }
+
+        Path runways = directory.resolve(RUNWAYS);
+        if (Files.exists(runways)) {
+            for (Map<String, String> runway : table(runways)) {
+                String airport = runway.get("airport_ident");
+                if ("1".equals(runway.get("closed")) || !elevation.containsKey(airport))
+                    continue;
+                for (String end : new String[] { "le_", "he_" }) {
+                    String height = runway.get(end + "elevation_ft");
+                    add(rows, "RUNWAY", airport + runway.get(end + "ident"), runway.get(end + "latitude_deg"),
+                            runway.get(end + "longitude_deg"), blank(height) ? elevation.get(airport) : height,
+                            runway.get(end + "heading_degT"));
+                }
+            }
+        }
+
+        Path navaids = directory.resolve(NAVAIDS);
+        if (Files.exists(navaids)) {
+            for (Map<String, String> navaid : table(navaids)) {
+                String frequency = navaid.get("frequency_khz");
+                add(rows, "NAVAID", navaid.get("ident"), navaid.get("latitude_deg"), navaid.get("longitude_deg"),
+                        navaid.get("elevation_ft"),
+                        blank(frequency) ? "0" : Double.toString(Double.parseDouble(frequency) / 1000.0));
+            }
+        }
+        log.info("Imported {} records from {}", rows.size(), directory);
+        return rows;
+    }
+
+    /**
+     * Adds a row unless its ident or position is unusable; a missing elevation or value is 0.
+     */
+    private static boolean add(List<String[]> rows, String kind, String ident, String latitude, String longitude,
+            String elevation, String value) {
+        if (blank(ident) || ident.length() > IDENT || blank(latitude) || blank(longitude))
+            return false;
+        rows.add(new String[] { kind, ident, latitude, longitude, blank(elevation) ? "0" : elevation,
+                blank(value) ? "0" : value });
+        return true;
+    }
+
+    private static boolean blank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Reads a CSV file with a header line into one map of column to field per record.
+     */
+    static List<Map<String, String>> table(Path path) throws IOException {
+        List<Map<String, String>> table = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            List<String> header = record(reader);
+            if (header == null)
+                return table;
+            if (!header.isEmpty() && header.get(0).startsWith("\uFEFF"))
+                header.set(0, header.get(0).substring(1));
+            for (List<String> fields = record(reader); fields != null; fields = record(reader)) {
+                if (fields.size() == 1 && fields.get(0).isEmpty())
+                    continue;
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                    row.put(header.get(i), fields.get(i).trim());
+                }
+                table.add(row);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Reads the fields of the next CSV record, which spans lines while a quote is open.
+     *
+     * @return the fields, or null at the end of the input
+     */
+    static List<String> record(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null)
+            return null;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted)
+                break;
+            line = reader.readLine();
+            if (line == null)
+                throw new IOException("Unterminated quoted field: " + field);
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -12,14 +12,23 @@ public class Memory {
     private static final Logger log = LoggerFactory.getLogger(Memory.class);
 
     private final AtomicReference<Goal> goal = new AtomicReference<>(Goal.DEFAULT);
-    private final AtomicReference<State> state = new AtomicReference<>(State.neutral());
+    private static final int CAPACITY = 1024; // frames, about 20 s at 50 Hz
+
+    private final History history = new History(CAPACITY, Telemetry.SIZE);
+    private final Telemetry telemetry = new Telemetry(history);
     private final AtomicReference<Target> target = new AtomicReference<>(Target.neutral());
     private final AtomicReference<Navigator> navigator = new AtomicReference<>(Navigator.inactive());
     private final AtomicReference<Assistant> assistant = new AtomicReference<>(Assistant.inactive());
+    private volatile Recorder recorder;
+    private volatile Database database;
+    private volatile Route route;
+    private volatile Planner planner;
+    private volatile Terrain terrain;
 
     private final Map<String, Runnable> registry = new ConcurrentHashMap<>();
     private final Map<String, Loop> schedule = new ConcurrentHashMap<>();
     private final Map<String, Configuration> profile = new ConcurrentHashMap<>();
+    private final Map<String, Table> table = new ConcurrentHashMap<>();
 
     public Memory() {
     }
@@ -59,6 +68,21 @@ public class Memory {
         profile.put(name.toUpperCase(), configuration);
     }
 
+    public Table getTable(String name) {
+        return table.get(name.toUpperCase());
+    }
+
+    /**
+     * Stores the gain schedule of a controller, or removes it with null.
+     */
+    public void setTable(String name, Table schedule) {
+        if (schedule == null) {
+            table.remove(name.toUpperCase());
+        } else {
+            table.put(name.toUpperCase(), schedule);
+        }
+    }
+
     public Loop getLoop(String name) {
         return schedule.get(name.toUpperCase());
     }
@@ -100,13 +124,76 @@ public class Memory {
         goal.set(value);
     }
 
+    public Telemetry getTelemetry() {
+        return telemetry;
+    }
+
+    public History getHistory() {
+        return history;
+    }
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    public void setDatabase(Database value) {
+        database = value;
+    }
+
+    public Planner getPlanner() {
+        return planner;
+    }
+
+    public void setPlanner(Planner value) {
+        planner = value;
+    }
+
+    public Terrain getTerrain() {
+        return terrain;
+    }
+
+    public void setTerrain(Terrain value) {
+        terrain = value;
+    }
+
+    public Route getRoute() {
+        return route;
+    }
+
+    /**
+     * Sets the flight plan the Computer follows, or clears it with null.
+     */
+    public void setRoute(Route value) {
+        route = value;
+        log.debug("{}", value);
+    }
+
+    public Recorder getRecorder() {
+        return recorder;
+    }
+
+    public void setRecorder(Recorder value) {
+        recorder = value;
+        telemetry.setRecorder(value);
+    }
+
+    /**
+     * Records a single value stamped with the latest simulator time. Does nothing without a recorder.
+     */
+    public void record(Recorder.Kind kind, int channel, double value) {
+        Recorder current = recorder;
+        if (current != null) {
+            current.write(kind, channel, telemetry.get(Telemetry.TIME), value);
+        }
+    }
+
     public State getState() {
-        return state.get();
+        return telemetry.getState();
     }
 
     public void setState(State value) {
         log.debug("{}", value);
-        state.set(value);
+        telemetry.write(value);
     }
 
     public Target getTarget() {
@@ -116,6 +203,11 @@ public class Memory {
     public void setTarget(Target value) {
         log.debug("{}", value);
         target.set(value);
+        Recorder current = recorder;
+        if (current != null) {
+            current.write(Recorder.Kind.TARGET, 0, telemetry.get(Telemetry.TIME), value.roll(), value.pitch(),
+                    value.yaw(), value.power());
+        }
     }
 
     public Navigator getNavigator() {
@@ -0,0 +1,317 @@
+package com.nativenavj.domain;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A* route planner over an airway Graph.
+ * The search works in preallocated primitive arrays (costs, parents, a
+ * binary heap and generation stamps instead of clearing), and the
+ * great-circle distance to the destination is the heuristic. Plans are kept
+ * in an LRU cache keyed by origin, destination and avoided nodes. A re-plan
+ * from a position reuses the rest of the last plan when the aircraft is
+ * still near one of its nodes, and otherwise repairs it: a bounded search
+ * from the nearest node finds the cheapest way back onto the rest of the
+ * plan, so only a large deviation costs a full search.
+ */
+public class Planner {
+    public static final int CAPACITY = 256; // cached plans
+    public static final int REJOIN = 1024; // nodes a repair search expands at most
+
+    /**
+     * Cache key of a plan.
+     */
+    public record Key(int origin, int destination, Set<Integer> avoid) {
+    }
+
+    /**
+     * A planned path of graph nodes and its length in NM.
+     */
+    public record Plan(int[] path, double distance) {
+    }
+
+    private final Graph graph;
+    private final double[] cost;
+    private final int[] parent;
+    private final int[] seen; // generation in which cost and parent were set
+    private final int[] closed; // generation in which the node was expanded
+    private final int[] planned; // generation in which the node lay on the plan being repaired
+    private final int[] position; // index of the node in the plan being repaired
+    private final double[] remaining; // NM from the node to the end of the plan being repaired
+    private final int[] heapNode;
+    private final double[] heapKey;
+    private int generation;
+    private int heapSize;
+
+    private final Map<Key, Plan> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Plan> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+    private Key lastKey;
+    private Plan last;
+    private long hits;
+    private long misses;
+    private long repairs;
+
+    public Planner(Graph graph) {
+        this.graph = graph;
+        int size = graph.size();
+        this.cost = new double[size];
+        this.parent = new int[size];
+        this.seen = new int[size];
+        this.closed = new int[size];
+        this.planned = new int[size];
+        this.position = new int[size];
+        this.remaining = new double[size];
+        this.heapNode = new int[graph.getEdges() + 1];
+        this.heapKey = new double[graph.getEdges() + 1];
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Plans the shortest airway path between two nodes.
+     *
+     * @param avoid nodes that must not be flown through
+     * @return the plan, or null if the destination cannot be reached
+     */
+    public synchronized Plan plan(int origin, int destination, Set<Integer> avoid) {
+        Key key = new Key(origin, destination, Set.copyOf(avoid));
+        Plan plan = cache.get(key);
+        if (plan != null) {
+            hits++;
+        } else {
+            misses++;
+            plan = search(origin, destination, key.avoid());
+            if (plan != null)
+                cache.put(key, plan);
+        }
+        lastKey = key;
+        last = plan;
+        return plan;
+    }
+
+    /**
+     * Plans from the node nearest to a position. If that node lies on the last
+     * plan to the same destination, the rest of that plan is reused without a search.
+     * Otherwise the last plan is repaired by a search of at most REJOIN nodes
+     * for the cheapest path back onto it; only if that fails is a full plan searched.
+     * A repaired plan keeps the rest of the last plan, so it can be longer than a
+     * fresh plan from the same node.
+     */
+    public synchronized Plan replan(double latitude, double longitude, int destination, Set<Integer> avoid) {
+        int origin = graph.nearest(latitude, longitude);
+        Set<Integer> avoided = Set.copyOf(avoid);
+        if (last != null && lastKey.destination() == destination && lastKey.avoid().equals(avoided)) {
+            int[] path = last.path();
+            for (int i = 0; i < path.length; i++) {
+                if (path[i] == origin) {
+                    hits++;
+                    int[] rest = Arrays.copyOfRange(path, i, path.length);
+                    Plan plan = new Plan(rest, length(rest));
+                    cache.put(new Key(origin, destination, avoided), plan);
+                    return plan;
+                }
+            }
+            Plan plan = repair(origin, path, avoided);
+            if (plan != null) {
+                repairs++;
+                lastKey = new Key(origin, destination, avoided);
+                last = plan;
+                cache.put(lastKey, plan);
+                return plan;
+            }
+        }
+        return plan(origin, destination, avoided);
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of re-plans served by repairing the last plan.
+     */
+    public synchronized long getRepairs() {
+        return repairs;
+    }
+
+    private Plan search(int origin, int destination, Set<Integer> avoid) {
+        stamp();
+        heapSize = 0;
+        cost[origin] = 0.0;
+        parent[origin] = -1;
+        seen[origin] = generation;
+        push(origin, graph.distance(origin, destination));
+
+        while (heapSize > 0) {
+            int node = pop();
+            if (closed[node] == generation)
+                continue;
+            if (node == destination)
+                return path(destination);
+            closed[node] = generation;
+            for (int slot = graph.getOffset(node); slot < graph.getLimit(node); slot++) {
+                int next = graph.getTarget(slot);
+                if (closed[next] == generation || (next != destination && avoid.contains(next)))
+                    continue;
+                double candidate = cost[node] + graph.getWeight(slot);
+                if (seen[next] != generation || candidate < cost[next]) {
+                    seen[next] = generation;
+                    cost[next] = candidate;
+                    parent[next] = node;
+                    push(next, candidate + graph.distance(next, destination));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Dijkstra from the origin until the cheapest way onto the plan and along its
+     * rest is settled: a node is popped that costs more than the best rejoin so far.
+     *
+     * @return the origin, the path to the rejoined node and the rest of the plan,
+     *         or null if the plan is not reached within REJOIN expanded nodes
+     */
+    private Plan repair(int origin, int[] plan, Set<Integer> avoid) {
+        stamp();
+        int destination = plan[plan.length - 1];
+        double rest = 0.0;
+        for (int i = plan.length - 1; i >= 0; i--) {
+            if (i < plan.length - 1)
+                rest += graph.distance(plan[i], plan[i + 1]);
+            planned[plan[i]] = generation;
+            position[plan[i]] = i;
+            remaining[plan[i]] = rest;
+        }
+
+        heapSize = 0;
+        cost[origin] = 0.0;
+        parent[origin] = -1;
+        seen[origin] = generation;
+        push(origin, 0.0);
+        int best = -1;
+        double total = Double.POSITIVE_INFINITY;
+        int expanded = 0;
+        while (heapSize > 0) {
+            int node = pop();
+            if (closed[node] == generation)
+                continue;
+            if (cost[node] >= total)
+                break;
+            if (++expanded > REJOIN)
+                return null;
+            closed[node] = generation;
+            if (planned[node] == generation && cost[node] + remaining[node] < total) {
+                total = cost[node] + remaining[node];
+                best = node;
+            }
+            for (int slot = graph.getOffset(node); slot < graph.getLimit(node); slot++) {
+                int next = graph.getTarget(slot);
+                if (closed[next] == generation || (next != destination && avoid.contains(next)))
+                    continue;
+                double candidate = cost[node] + graph.getWeight(slot);
+                if (seen[next] != generation || candidate < cost[next]) {
+                    seen[next] = generation;
+                    cost[next] = candidate;
+                    parent[next] = node;
+                    push(next, candidate);
+                }
+            }
+        }
+        if (best < 0)
+            return null;
+
+        int head = 1;
+        for (int node = best; parent[node] >= 0; node = parent[node]) {
+            head++;
+        }
+        int rejoin = position[best];
+        int[] path = new int[head + plan.length - rejoin - 1];
+        for (int node = best, i = head - 1; i >= 0; node = parent[node], i--) {
+            path[i] = node;
+        }
+        System.arraycopy(plan, rejoin + 1, path, head, plan.length - rejoin - 1);
+        return new Plan(path, total);
+    }
+
+    /**
+     * Starts a new search generation, clearing the stamps when they wrap.
+     */
+    private void stamp() {
+        if (++generation == 0) {
+            // Stamps wrapped: start again from a clean slate
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            Arrays.fill(planned, 0);
+            generation = 1;
+        }
+    }
+
+    private Plan path(int destination) {
+        int length = 1;
+        for (int node = destination; parent[node] >= 0; node = parent[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int node = destination, i = length - 1; i >= 0; node = parent[node], i--) {
+            path[i] = node;
+        }
+        return new Plan(path, cost[destination]);
+    }
+
+    private double length(int[] path) {
+        double total = 0.0;
+        for (int i = 1; i < path.length; i++) {
+            total += graph.distance(path[i - 1], path[i]);
+        }
+        return total;
+    }
+
+    private void push(int node, double key) {
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (heapKey[up] <= key)
+                break;
+            heapNode[i] = heapNode[up];
+            heapKey[i] = heapKey[up];
+            i = up;
+        }
+        heapNode[i] = node;
+        heapKey[i] = key;
+    }
+
+    private int pop() {
+        int top = heapNode[0];
+        int node = heapNode[--heapSize];
+        double key = heapKey[heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize)
+                break;
+            if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child])
+                child++;
+            if (heapKey[child] >= key)
+                break;
+            heapNode[i] = heapNode[child];
+            heapKey[i] = heapKey[child];
+            i = child;
+        }
+        heapNode[i] = node;
+        heapKey[i] = key;
+        return top;
+    }
+}
@@ -0,0 +1,13 @@
+package com.nativenavj.domain;
+
+/**
+ * Update rate of a telemetry variable.
+ */
+public enum Rate {
+    /** Every simulator frame. */
+    FRAME,
+    /** Once per second. */
+    SECOND,
+    /** Only when the value changes by more than its epsilon. */
+    CHANGE
+}
@@ -0,0 +1,43 @@
+package com.nativenavj.domain;
+
+/**
+ * Caller-owned holder for a single measurement, filled by a Sensor.
+ * The mutable counterpart of a Sample: one instance is reused for every
+ * read, so reading a sensor never allocates. Confined to one thread.
+ */
+public class Reading {
+    private double time;
+    private double value;
+    private boolean present;
+
+    /**
+     * Stores a value and the simulator time of the snapshot it came from.
+     */
+    public void set(double time, double value) {
+        this.time = time;
+        this.value = value;
+        this.present = true;
+    }
+
+    /**
+     * Marks the reading empty before the next read.
+     */
+    public void clear() {
+        present = false;
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Returns true when the last read stored a value.
+     */
+    public boolean isPresent() {
+        return present;
+    }
+}
@@ -0,0 +1,239 @@
+package com.nativenavj.domain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * Binary flight recorder.
+ * Appends fixed-width records to memory-mapped segment files without
+ * allocating or blocking. Writers claim a record slot with a single atomic
+ * increment; the next segment is mapped ahead by the periodic run, so a
+ * writer never touches the file system. Records that find no mapped segment
+ * are dropped and counted. Every Recorder writes a session of its own into
+ * a new numbered subdirectory, so a run never overwrites an earlier flight.
+ */
+public class Recorder implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(Recorder.class);
+
+    /**
+     * Kind of a record.
+     */
+    public enum Kind {
+        NONE,
+        STATE,
+        TARGET,
+        OUTPUT,
+        COMMAND,
+        ENVELOPE
+    }
+
+    // Record layout: kind(4) channel(4) clock(8) time(8) values(8 * VALUES)
+    public static final int WIDTH = 128;
+    public static final int VALUES = 12;
+    public static final long KIND = 0;
+    public static final long CHANNEL = 4;
+    public static final long CLOCK = 8;
+    public static final long TIME = 16;
+    public static final long DATA = 24;
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final String SESSION = "session-%06d";
+    private static final String PATTERN = "session-\\d{6}";
+
+    /**
+     * A mapped segment file and its number.
+     */
+    private record Segment(long number, MemorySegment memory) {
+    }
+
+    private final Path directory;
+    private final long records;
+    private final AtomicLong position = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicReferenceArray<Segment> ring = new AtomicReferenceArray<>(2);
+    private long created = -1; // highest segment number with a file, mapper only
+
+    /**
+     * @param root    the directory that receives a session directory of segment files
+     * @param records the number of records per segment file
+     */
+    public Recorder(Path root, long records) throws IOException {
+        this.records = records;
+        this.directory = create(root);
+        map(0);
+        map(1);
+        log.info("Recording to {}", directory);
+    }
+
+    /**
+     * Maps the segment after the active one ahead of time. Scheduled by the Orchestrator.
+     * If the writers ran past the mapped segments, the segments they skipped get
+     * an empty file, so every segment number of the session exists.
+     */
+    @Override
+    public void run() {
+        long active = position.get() / records;
+        try {
+            for (long number = created + 1; number < active; number++) {
+                reserve(number);
+            }
+            for (long number = active; number <= active + 1; number++) {
+                Segment segment = ring.get((int) (number & 1));
+                if (segment == null || segment.number() < number) {
+                    map(number);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to map recorder segment", e);
+        }
+    }
+
+    public void write(Kind kind, int channel, double time, double value) {
+        MemorySegment record = claim();
+        if (record == null)
+            return;
+        record.set(JAVA_DOUBLE, DATA, value);
+        commit(record, kind, channel, time);
+    }
+
+    public void write(Kind kind, int channel, double time, double first, double second, double third,
+            double fourth) {
+        MemorySegment record = claim();
+        if (record == null)
+            return;
+        record.set(JAVA_DOUBLE, DATA, first);
+        record.set(JAVA_DOUBLE, DATA + 8, second);
+        record.set(JAVA_DOUBLE, DATA + 16, third);
+        record.set(JAVA_DOUBLE, DATA + 24, fourth);
+        commit(record, kind, channel, time);
+    }
+
+    /**
+     * Writes up to VALUES doubles copied from a native segment.
+     */
+    public void write(Kind kind, int channel, double time, MemorySegment values, int count) {
+        MemorySegment record = claim();
+        if (record == null)
+            return;
+        MemorySegment.copy(values, 0, record, DATA, Math.min(count, VALUES) * JAVA_DOUBLE.byteSize());
+        commit(record, kind, channel, time);
+    }
+
+    /**
+     * Returns the session directory of this Recorder.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the latest session directory under a root, or null if there is none.
+     */
+    public static Path latest(Path root) throws IOException {
+        if (!Files.isDirectory(root))
+            return null;
+        try (Stream<Path> list = Files.list(root)) {
+            return list.filter(Recorder::isSession).max(Comparator.naturalOrder()).orElse(null);
+        }
+    }
+
+    private static boolean isSession(Path path) {
+        return Files.isDirectory(path) && path.getFileName().toString().matches(PATTERN);
+    }
+
+    /**
+     * Creates the session directory after the latest one. Creating a directory
+     * is atomic, so a concurrent Recorder on the same root takes the next number.
+     */
+    private static Path create(Path root) throws IOException {
+        Files.createDirectories(root);
+        Path latest = latest(root);
+        int number = latest == null ? 0 : Integer.parseInt(latest.getFileName().toString().substring(8)) + 1;
+        while (true) {
+            try {
+                return Files.createDirectory(root.resolve(String.format(SESSION, number)));
+            } catch (FileAlreadyExistsException e) {
+                number++;
+            }
+        }
+    }
+
+    public long getPosition() {
+        return position.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the segment file for a segment number.
+     */
+    public Path file(long number) {
+        return directory.resolve(String.format("segment-%06d.bin", number));
+    }
+
+    public static Kind kind(int ordinal) {
+        return ordinal >= 0 && ordinal < KINDS.length ? KINDS[ordinal] : Kind.NONE;
+    }
+
+    private MemorySegment claim() {
+        long slot = position.getAndIncrement();
+        long number = slot / records;
+        Segment segment = ring.get((int) (number & 1));
+        if (segment == null || segment.number() != number) {
+            dropped.incrementAndGet();
+            return null;
+        }
+        return segment.memory().asSlice((slot % records) * WIDTH, WIDTH);
+    }
+
+    private static void commit(MemorySegment record, Kind kind, int channel, double time) {
+        record.set(JAVA_INT, CHANNEL, channel);
+        record.set(JAVA_LONG, CLOCK, System.nanoTime());
+        record.set(JAVA_DOUBLE, TIME, time);
+        // The kind marks the record complete for readers of the file
+        VarHandle.storeStoreFence();
+        record.set(JAVA_INT, KIND, kind.ordinal());
+    }
+
+    private void map(long number) throws IOException {
+        try (FileChannel channel = FileChannel.open(file(number), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MemorySegment memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, records * WIDTH, Arena.ofAuto());
+            ring.set((int) (number & 1), new Segment(number, memory));
+        }
+        created = Math.max(created, number);
+        log.debug("Mapped recorder segment {}", number);
+    }
+
+    /**
+     * Creates the file of a segment whose records were all dropped. Its slots read as kind NONE.
+     */
+    private void reserve(long number) throws IOException {
+        try (FileChannel channel = FileChannel.open(file(number), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            if (channel.size() < records * WIDTH)
+                channel.write(ByteBuffer.allocate(1), records * WIDTH - 1);
+        }
+        created = number;
+        log.warn("Recorder segment {} dropped, mapper fell behind", number);
+    }
+}
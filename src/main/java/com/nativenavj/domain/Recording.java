@@ -0,0 +1,115 @@
+package com.nativenavj.domain;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.lang.foreign.ValueLayout.*;
+
+/**
+ * Sequential reader of one session written by a Recorder.
+ * Maps the segments of the session read-only and walks the records in slot
+ * order, skipping empty slots. Given the root of a Recorder, it reads the
+ * latest session, so records of different flights are never mixed.
+ */
+public class Recording implements AutoCloseable {
+    private static final String SEGMENT = "segment-000000.bin";
+
+    private final Arena arena = Arena.ofConfined();
+    private final List<MemorySegment> segments = new ArrayList<>();
+    private int segment;
+    private long offset = -Recorder.WIDTH;
+    private MemorySegment record;
+
+    /**
+     * @param directory a session directory, or a Recorder root whose latest session is read
+     */
+    public Recording(Path directory) throws IOException {
+        Path session = directory;
+        if (!Files.exists(directory.resolve(SEGMENT))) {
+            Path latest = Recorder.latest(directory);
+            if (latest != null)
+                session = latest;
+        }
+        List<Path> files;
+        try (Stream<Path> list = Files.list(session)) {
+            // In segment number order; a missing number is skipped, not the end
+            files = list.filter(file -> file.getFileName().toString().matches("segment-\\d+\\.bin"))
+                    .sorted(Comparator.comparingLong(Recording::number))
+                    .toList();
+        }
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                segments.add(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+            }
+        }
+    }
+
+    private static long number(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring("segment-".length(), name.length() - ".bin".length()));
+    }
+
+    /**
+     * Advances to the next non-empty record.
+     *
+     * @return false at the end of the recording
+     */
+    public boolean next() {
+        while (segment < segments.size()) {
+            MemorySegment current = segments.get(segment);
+            offset += Recorder.WIDTH;
+            if (offset + Recorder.WIDTH > current.byteSize()) {
+                segment++;
+                offset = -Recorder.WIDTH;
+                continue;
+            }
+            if (current.get(JAVA_INT, offset + Recorder.KIND) != Recorder.Kind.NONE.ordinal()) {
+                record = current.asSlice(offset, Recorder.WIDTH);
+                return true;
+            }
+        }
+        record = null;
+        return false;
+    }
+
+    public Recorder.Kind getKind() {
+        return Recorder.kind(record.get(JAVA_INT, Recorder.KIND));
+    }
+
+    public int getChannel() {
+        return record.get(JAVA_INT, Recorder.CHANNEL);
+    }
+
+    public long getClock() {
+        return record.get(JAVA_LONG, Recorder.CLOCK);
+    }
+
+    public double getTime() {
+        return record.get(JAVA_DOUBLE, Recorder.TIME);
+    }
+
+    public double getValue(int index) {
+        return record.get(JAVA_DOUBLE, Recorder.DATA + index * JAVA_DOUBLE.byteSize());
+    }
+
+    /**
+     * Returns the values of the current record as a segment, for copying without allocation.
+     */
+    public MemorySegment getValues() {
+        return record.asSlice(Recorder.DATA);
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
@@ -0,0 +1,119 @@
+package com.nativenavj.domain;
+
+/**
+ * Immutable flight plan: a list of waypoints joined by great-circle legs.
+ * The leg geometry (waypoint unit vectors, leg normals, initial courses and
+ * lengths) is computed once on construction, so guidance only needs a few
+ * dot products per tick.
+ */
+public class Route {
+    private final String[] name;
+    private final double[] latitude;
+    private final double[] longitude;
+    private final double[] vector; // 3 per waypoint
+    private final double[] normal; // 3 per leg, unit normal of the leg's great circle, left of track
+    private final double[] course; // per leg, initial true course in degrees
+    private final double[] length; // per leg, NM
+
+    /**
+     * @param name      the waypoint names
+     * @param latitude  the waypoint latitudes in degrees
+     * @param longitude the waypoint longitudes in degrees
+     */
+    public Route(String[] name, double[] latitude, double[] longitude) {
+        int size = name.length;
+        if (size < 2 || latitude.length != size || longitude.length != size)
+            throw new IllegalArgumentException("A route needs at least two waypoints with positions");
+        this.name = name.clone();
+        this.latitude = latitude.clone();
+        this.longitude = longitude.clone();
+        this.vector = new double[size * 3];
+        this.normal = new double[(size - 1) * 3];
+        this.course = new double[size - 1];
+        this.length = new double[size - 1];
+
+        for (int i = 0; i < size; i++) {
+            Sphere.vector(latitude[i], longitude[i], vector, i * 3);
+        }
+        for (int leg = 0; leg < size - 1; leg++) {
+            int a = leg * 3;
+            int b = a + 3;
+            double x = vector[a + 1] * vector[b + 2] - vector[a + 2] * vector[b + 1];
+            double y = vector[a + 2] * vector[b] - vector[a] * vector[b + 2];
+            double z = vector[a] * vector[b + 1] - vector[a + 1] * vector[b];
+            double norm = Math.sqrt(x * x + y * y + z * z);
+            if (norm < 1e-12)
+                throw new IllegalArgumentException("Leg " + name[leg] + "-" + name[leg + 1] + " has no direction");
+            normal[a] = x / norm;
+            normal[a + 1] = y / norm;
+            normal[a + 2] = z / norm;
+            course[leg] = Sphere.bearing(latitude[leg], longitude[leg], latitude[leg + 1], longitude[leg + 1]);
+            length[leg] = Sphere.distance(latitude[leg], longitude[leg], latitude[leg + 1], longitude[leg + 1]);
+        }
+    }
+
+    /**
+     * Builds a route from the idents of a navigation database.
+     */
+    public static Route of(Database database, String... idents) {
+        double[] latitude = new double[idents.length];
+        double[] longitude = new double[idents.length];
+        String[] names = new String[idents.length];
+        for (int i = 0; i < idents.length; i++) {
+            int index = database.find(idents[i]);
+            if (index < 0)
+                throw new IllegalArgumentException("Unknown ident " + idents[i]);
+            names[i] = database.getIdent(index);
+            latitude[i] = database.getLatitude(index);
+            longitude[i] = database.getLongitude(index);
+        }
+        return new Route(names, latitude, longitude);
+    }
+
+    public int size() {
+        return name.length;
+    }
+
+    public int getLegs() {
+        return name.length - 1;
+    }
+
+    public String getName(int waypoint) {
+        return name[waypoint];
+    }
+
+    public double getLatitude(int waypoint) {
+        return latitude[waypoint];
+    }
+
+    public double getLongitude(int waypoint) {
+        return longitude[waypoint];
+    }
+
+    /**
+     * Returns a component of the unit vector of a waypoint.
+     */
+    public double getVector(int waypoint, int axis) {
+        return vector[waypoint * 3 + axis];
+    }
+
+    /**
+     * Returns a component of the unit normal of a leg, which points to the left of the track.
+     */
+    public double getNormal(int leg, int axis) {
+        return normal[leg * 3 + axis];
+    }
+
+    public double getCourse(int leg) {
+        return course[leg];
+    }
+
+    public double getLength(int leg) {
+        return length[leg];
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" ", name);
+    }
+}
@@ -1,12 +1,18 @@
 package com.nativenavj.domain;
 
 import com.nativenavj.control.Orchestrator;
+import com.nativenavj.control.Task;
+import com.nativenavj.control.Tuner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Knowledge Source for user interaction via CLI.
@@ -34,7 +40,7 @@ public class Shell implements Runnable {
             System.out.flush();
             String line = reader.readLine();
             if (line != null && !line.isBlank()) {
-                String result = execute(line.trim().toUpperCase());
+                String result = execute(line.trim());
                 System.out.println(result);
             }
         } catch (Exception e) {
@@ -45,7 +51,9 @@ public class Shell implements Runnable {
     public String execute(String command) {
         if (command == null)
             return "ERROR: Command is null";
-        command = command.trim().toUpperCase();
+        // File paths keep their case
+        String original = command.trim();
+        command = original.toUpperCase();
         log.info("User Command: {}", command);
 
         try {
@@ -63,6 +71,16 @@ public class Shell implements Runnable {
                 return executeAssistant(command.substring(3).trim());
             } else if (command.startsWith("ASK")) {
                 return executeAsk(command.substring(3).trim());
+            } else if (command.startsWith("STA")) {
+                return executeStatistics();
+            } else if (command.startsWith("PLN")) {
+                return executePlan(command.substring(3).trim());
+            } else if (command.startsWith("RTE")) {
+                return executeRoute(command.substring(3).trim());
+            } else if (command.startsWith("TUN")) {
+                return executeTune(command.substring(3).trim());
+            } else if (command.startsWith("TBL")) {
+                return executeTable(original.substring(3).trim());
             } else {
                 log.warn("Unknown command: {}", command);
                 return "ERROR: Unknown command";
@@ -83,22 +101,11 @@ public class Shell implements Runnable {
         String parameter = components[1].toUpperCase();
         String text = components[2].toUpperCase();
 
-        // Map CLI codes to full names
-        String registryKey = switch (name) {
-            case "CPU" -> "COMPUTER";
-            case "SHL" -> "SHELL";
-            case "ORC", "JOB" -> "ORCHESTRATOR";
-            case "INP" -> "SHELL";
-            case "PIT" -> "PITCH";
-            case "ROL" -> "ROLL";
-            case "THR" -> "THROTTLE";
-            case "YAW" -> "YAW";
-            case "SPD" -> "SPEED";
-            case "ALT" -> "ALTITUDE";
-            case "HDG" -> "HEADING";
-            case "LLM" -> "ASSISTANT";
-            default -> name;
-        };
+        String registryKey = key(name);
+
+        if ("BANK".equals(registryKey) && parameter.startsWith("K")) {
+            return "ERROR: BNK gains are set per axis with PIT, ROL, YAW or THR";
+        }
 
         Configuration current = memory.getProfile(registryKey);
         boolean isNew = current == null;
@@ -114,6 +121,12 @@ public class Shell implements Runnable {
             switch (parameter) {
                 case "SYS" -> active = "ON".equals(text) || "TRUE".equals(text);
                 case "FRQ" -> frequency = Double.parseDouble(text);
+                case "POL" -> {
+                    if (orchestrator == null)
+                        return "ERROR: No orchestrator";
+                    orchestrator.setPolicy(registryKey, Task.Policy.valueOf(text));
+                    return String.format("Set %s %s to %s", registryKey, parameter, text);
+                }
                 case "KP" -> updated = new Configuration(Double.parseDouble(text), current.integral(),
                         current.derivative(), current.minimum(), current.maximum());
                 case "KI" -> updated = new Configuration(current.proportion(), Double.parseDouble(text),
@@ -143,6 +156,123 @@ public class Shell implements Runnable {
         return String.format("Set %s %s to %s", registryKey, parameter, text);
     }
 
+    /**
+     * Maps CLI codes to full names.
+     */
+    private static String key(String name) {
+        return switch (name.toUpperCase()) {
+            case "CPU" -> "COMPUTER";
+            case "SHL" -> "SHELL";
+            case "ORC", "JOB" -> "ORCHESTRATOR";
+            case "INP" -> "SHELL";
+            case "PIT" -> "PITCH";
+            case "ROL" -> "ROLL";
+            case "THR" -> "THROTTLE";
+            case "YAW" -> "YAW";
+            case "SPD" -> "SPEED";
+            case "ALT" -> "ALTITUDE";
+            case "HDG" -> "HEADING";
+            case "LLM" -> "ASSISTANT";
+            case "BNK" -> "BANK";
+            default -> name.toUpperCase();
+        };
+    }
+
+    private String executeTable(String argument) throws IOException {
+        String[] components = argument.split("\\s+");
+        if (components.length >= 2 && "LOAD".equalsIgnoreCase(components[0])) {
+            Map<String, Table> tables = Table.load(Path.of(argument.substring(4).trim()));
+            for (Map.Entry<String, Table> entry : tables.entrySet()) {
+                applyTable(key(entry.getKey()), entry.getValue());
+            }
+            return "Loaded " + tables.size() + " gain tables";
+        }
+        if (components.length == 2 && "OFF".equalsIgnoreCase(components[1])) {
+            applyTable(key(components[0]), null);
+            return "Gain table of " + key(components[0]) + " removed";
+        }
+        if (components.length != 6 && components.length != 8)
+            return "ERROR: TBL requires LOAD <path>, <name> OFF or <name> <speed> <altitude> <kp> <ki> <kd> [<min> <max>]";
+
+        String name = key(components[0]);
+        Table table = memory.getTable(name);
+        if (table == null)
+            return "ERROR: No gain table for " + name;
+        double speed = Double.parseDouble(components[1]);
+        double altitude = Double.parseDouble(components[2]);
+        Configuration current = table.get(speed, altitude);
+        Configuration updated = new Configuration(Double.parseDouble(components[3]),
+                Double.parseDouble(components[4]), Double.parseDouble(components[5]),
+                components.length == 8 ? Double.parseDouble(components[6]) : current.minimum(),
+                components.length == 8 ? Double.parseDouble(components[7]) : current.maximum());
+        applyTable(name, table.with(speed, altitude, updated));
+        return String.format("Set %s gains at %s kts %s ft", name, speed, altitude);
+    }
+
+    private String executeRoute(String argument) {
+        if (argument.isEmpty())
+            return "ERROR: RTE requires <ident> <ident> ... or OFF";
+        if ("OFF".equals(argument)) {
+            memory.setRoute(null);
+            return "Route cleared";
+        }
+        Database database = memory.getDatabase();
+        if (database == null)
+            return "ERROR: No navigation database";
+        Route route = Route.of(database, argument.split("\\s+"));
+        memory.setRoute(route);
+        return String.format("Route %s, %d legs", route, route.getLegs());
+    }
+
+    private String executePlan(String argument) {
+        Planner planner = memory.getPlanner();
+        if (planner == null)
+            return "ERROR: No airway graph";
+        String[] components = argument.split("\\s+");
+        if (argument.isEmpty() || components.length > 2)
+            return "ERROR: PLN requires [<origin>] <destination>";
+        Graph graph = planner.getGraph();
+        int destination = graph.find(components[components.length - 1]);
+        if (destination < 0)
+            return "ERROR: Unknown destination " + components[components.length - 1];
+
+        Planner.Plan plan;
+        if (components.length == 2) {
+            int origin = graph.find(components[0]);
+            if (origin < 0)
+                return "ERROR: Unknown origin " + components[0];
+            plan = planner.plan(origin, destination, Set.of());
+        } else {
+            State state = memory.getState();
+            plan = planner.replan(state.latitude(), state.longitude(), destination, Set.of());
+        }
+        if (plan == null)
+            return "ERROR: No airway path to " + graph.getName(destination);
+        if (plan.path().length < 2)
+            return "Already at " + graph.getName(destination);
+        Route route = graph.route(plan.path());
+        memory.setRoute(route);
+        return String.format("Route %s, %.0f NM", route, plan.distance());
+    }
+
+    private String executeTune(String argument) {
+        if (argument.isEmpty())
+            return "ERROR: TUN requires <name>";
+        String name = key(argument);
+        Tuner.Result result = new Tuner(memory, orchestrator).tune(name);
+        Configuration best = result.configuration();
+        return String.format("Tuned %s: KP %.4f KI %.4f KD %.4f (cost %.3f)", name, best.proportion(),
+                best.integral(), best.derivative(), result.cost());
+    }
+
+    private void applyTable(String name, Table table) {
+        if (orchestrator != null) {
+            orchestrator.setTable(name, table);
+        } else {
+            memory.setTable(name, table);
+        }
+    }
+
     private String executeSystem(String argument) {
         boolean active = "ON".equals(argument);
         String[] components = { "COMPUTER", "PITCH", "ROLL", "YAW", "THROTTLE", "ASSISTANT" };
@@ -234,6 +364,15 @@ public class Shell implements Runnable {
         return "Assistant thinking...";
     }
 
+    private String executeStatistics() {
+        if (orchestrator == null)
+            return "ERROR: No orchestrator";
+        StringBuilder report = new StringBuilder();
+        new java.util.TreeMap<>(orchestrator.getTasks()).values()
+                .forEach(task -> report.append(task.report()).append(System.lineSeparator()));
+        return report.isEmpty() ? "No scheduled tasks" : report.toString().trim();
+    }
+
     public boolean isAssistant() {
         return memory.isActive("ASSISTANT");
     }
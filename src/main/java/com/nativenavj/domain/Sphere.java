@@ -0,0 +1,64 @@
+package com.nativenavj.domain;
+
+/**
+ * Great-circle geometry on a spherical earth.
+ * Positions are latitude and longitude in degrees or unit vectors in an
+ * earth-centred frame (x towards 0/0, z towards the north pole); distances
+ * are nautical miles.
+ */
+public final class Sphere {
+    public static final double RADIUS = 3440.065; // NM
+
+    private Sphere() {
+    }
+
+    /**
+     * Writes the unit vector of a position into a caller-owned array at an offset.
+     */
+    public static void vector(double latitude, double longitude, double[] out, int offset) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cos = Math.cos(phi);
+        out[offset] = cos * Math.cos(lambda);
+        out[offset + 1] = cos * Math.sin(lambda);
+        out[offset + 2] = Math.sin(phi);
+    }
+
+    /**
+     * Returns the great-circle distance between two positions.
+     */
+    public static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double phi1 = Math.toRadians(latitude1);
+        double phi2 = Math.toRadians(latitude2);
+        double a = Math.pow(Math.sin((phi2 - phi1) / 2), 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.pow(Math.sin(Math.toRadians(longitude2 - longitude1) / 2), 2);
+        return 2 * RADIUS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Returns the initial true course from the first position to the second in [0, 360).
+     */
+    public static double bearing(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double phi1 = Math.toRadians(latitude1);
+        double phi2 = Math.toRadians(latitude2);
+        double delta = Math.toRadians(longitude2 - longitude1);
+        double y = Math.sin(delta) * Math.cos(phi2);
+        double x = Math.cos(phi1) * Math.sin(phi2) - Math.sin(phi1) * Math.cos(phi2) * Math.cos(delta);
+        return (Math.toDegrees(Math.atan2(y, x)) + 360.0) % 360.0;
+    }
+
+    /**
+     * Converts a squared chord between unit vectors into a great-circle distance.
+     */
+    public static double chord(double squared) {
+        return 2 * RADIUS * Math.asin(Math.min(1.0, Math.sqrt(squared) / 2));
+    }
+
+    /**
+     * Converts a great-circle distance into the squared chord between unit vectors.
+     */
+    public static double squared(double distance) {
+        double half = 2 * Math.sin(Math.min(Math.PI, distance / RADIUS) / 2);
+        return half * half;
+    }
+}
@@ -2,18 +2,19 @@ package com.nativenavj.domain;
 
 /**
  * Current flight state of the aircraft.
+ * The annotations form the telemetry schema requested from the simulator.
  */
 public record State(
-        double latitude,
-        double longitude,
-        double heading,
-        double altitude,
-        double roll,
-        double pitch,
-        double yaw,
-        double speed,
-        double climb,
-        double time) {
+        @Variable(name = "PLANE LATITUDE", unit = "degrees", rate = Rate.SECOND) double latitude,
+        @Variable(name = "PLANE LONGITUDE", unit = "degrees", rate = Rate.SECOND) double longitude,
+        @Variable(name = "PLANE HEADING DEGREES TRUE", unit = "degrees") double heading,
+        @Variable(name = "PLANE ALTITUDE", unit = "feet", rate = Rate.CHANGE, epsilon = 1.0f) double altitude,
+        @Variable(name = "PLANE BANK DEGREES", unit = "degrees") double roll,
+        @Variable(name = "PLANE PITCH DEGREES", unit = "degrees") double pitch,
+        @Variable(name = "PLANE HEADING DEGREES MAGNETIC", unit = "degrees") double yaw,
+        @Variable(name = "AIRSPEED INDICATED", unit = "knots") double speed,
+        @Variable(name = "VERTICAL SPEED", unit = "feet per second") double climb,
+        @Variable(name = "ABSOLUTE TIME", unit = "seconds") double time) {
 
     public static State neutral() {
         return new State(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
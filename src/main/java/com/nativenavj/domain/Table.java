@@ -0,0 +1,173 @@
+package com.nativenavj.domain;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Gain-scheduling table of one control axis.
+ * Holds a Configuration for every point of an airspeed by altitude grid in
+ * one flat array and interpolates between the points without allocating.
+ * Immutable: an edit returns a new Table.
+ */
+public class Table {
+    public static final int GAINS = 5; // proportion, integral, derivative, minimum, maximum
+
+    private final double[] speed;
+    private final double[] altitude;
+    private final double[] data;
+
+    /**
+     * @param speed    the airspeed breakpoints in knots, ascending
+     * @param altitude the altitude breakpoints in feet, ascending
+     * @param data     GAINS values per point, speed major
+     */
+    public Table(double[] speed, double[] altitude, double[] data) {
+        if (speed.length == 0 || altitude.length == 0 || data.length != speed.length * altitude.length * GAINS)
+            throw new IllegalArgumentException("Table data does not match its breakpoints");
+        this.speed = speed.clone();
+        this.altitude = altitude.clone();
+        this.data = data.clone();
+    }
+
+    /**
+     * Interpolates the gains at a point of the envelope, clamped to the grid.
+     *
+     * @param gains a caller-owned array of GAINS elements that receives the result
+     */
+    public void lookup(double airspeed, double height, double[] gains) {
+        int i = lower(speed, airspeed);
+        int j = lower(altitude, height);
+        double u = fraction(speed, i, airspeed);
+        double v = fraction(altitude, j, height);
+        int i1 = Math.min(i + 1, speed.length - 1);
+        int j1 = Math.min(j + 1, altitude.length - 1);
+        for (int k = 0; k < GAINS; k++) {
+            double a = get(i, j, k);
+            double b = get(i1, j, k);
+            double c = get(i, j1, k);
+            double d = get(i1, j1, k);
+            gains[k] = (a + (b - a) * u) * (1 - v) + (c + (d - c) * u) * v;
+        }
+    }
+
+    /**
+     * Returns the Configuration stored at an existing grid point.
+     */
+    public Configuration get(double airspeed, double height) {
+        int offset = offset(airspeed, height);
+        return new Configuration(data[offset], data[offset + 1], data[offset + 2], data[offset + 3],
+                data[offset + 4]);
+    }
+
+    /**
+     * Returns a copy with the Configuration at an existing grid point replaced.
+     */
+    public Table with(double airspeed, double height, Configuration configuration) {
+        double[] copy = data.clone();
+        write(copy, offset(airspeed, height), configuration);
+        return new Table(speed, altitude, copy);
+    }
+
+    public double[] getSpeed() {
+        return speed.clone();
+    }
+
+    public double[] getAltitude() {
+        return altitude.clone();
+    }
+
+    /**
+     * Reads the tables of a file. Each non-empty line that does not start with
+     * '#' holds: name speed altitude proportion integral derivative minimum maximum.
+     * Every name must cover a full speed by altitude grid.
+     *
+     * @return the tables by upper-case controller name
+     */
+    public static Map<String, Table> load(Path file) throws IOException {
+        return parse(Files.readAllLines(file));
+    }
+
+    public static Map<String, Table> parse(List<String> lines) {
+        Map<String, Map<Double, Map<Double, Configuration>>> points = new HashMap<>();
+        for (String line : lines) {
+            String text = line.trim();
+            if (text.isEmpty() || text.startsWith("#"))
+                continue;
+            String[] field = text.split("\\s+");
+            if (field.length != 8)
+                throw new IllegalArgumentException("Expected 8 fields: " + text);
+            Configuration configuration = new Configuration(Double.parseDouble(field[3]),
+                    Double.parseDouble(field[4]), Double.parseDouble(field[5]), Double.parseDouble(field[6]),
+                    Double.parseDouble(field[7]));
+            points.computeIfAbsent(field[0].toUpperCase(), name -> new TreeMap<>())
+                    .computeIfAbsent(Double.parseDouble(field[1]), value -> new TreeMap<>())
+                    .put(Double.parseDouble(field[2]), configuration);
+        }
+
+        Map<String, Table> tables = new HashMap<>();
+        for (Map.Entry<String, Map<Double, Map<Double, Configuration>>> entry : points.entrySet()) {
+            TreeSet<Double> heights = new TreeSet<>();
+            entry.getValue().values().forEach(row -> heights.addAll(row.keySet()));
+            double[] speeds = entry.getValue().keySet().stream().mapToDouble(Double::doubleValue).toArray();
+            double[] altitudes = heights.stream().mapToDouble(Double::doubleValue).toArray();
+            double[] data = new double[speeds.length * altitudes.length * GAINS];
+            int offset = 0;
+            for (Map<Double, Configuration> row : entry.getValue().values()) {
+                for (double height : altitudes) {
+                    Configuration configuration = row.get(height);
+                    if (configuration == null)
+                        throw new IllegalArgumentException("Incomplete grid for " + entry.getKey());
+                    write(data, offset, configuration);
+                    offset += GAINS;
+                }
+            }
+            tables.put(entry.getKey(), new Table(speeds, altitudes, data));
+        }
+        return tables;
+    }
+
+    private int offset(double airspeed, double height) {
+        int i = Arrays.binarySearch(speed, airspeed);
+        int j = Arrays.binarySearch(altitude, height);
+        if (i < 0 || j < 0)
+            throw new IllegalArgumentException("No grid point at " + airspeed + " kts " + height + " ft");
+        return (i * altitude.length + j) * GAINS;
+    }
+
+    private double get(int i, int j, int k) {
+        return data[(i * altitude.length + j) * GAINS + k];
+    }
+
+    private static void write(double[] data, int offset, Configuration configuration) {
+        data[offset] = configuration.proportion();
+        data[offset + 1] = configuration.integral();
+        data[offset + 2] = configuration.derivative();
+        data[offset + 3] = configuration.minimum();
+        data[offset + 4] = configuration.maximum();
+    }
+
+    /**
+     * Returns the index of the last breakpoint at or below the value, clamped to the grid.
+     */
+    private static int lower(double[] breakpoint, double value) {
+        int index = 0;
+        while (index < breakpoint.length - 2 && value >= breakpoint[index + 1]) {
+            index++;
+        }
+        return index;
+    }
+
+    private static double fraction(double[] breakpoint, int index, double value) {
+        if (breakpoint.length == 1)
+            return 0.0;
+        double span = breakpoint[index + 1] - breakpoint[index];
+        return Math.max(0.0, Math.min(1.0, (value - breakpoint[index]) / span));
+    }
+}
@@ -0,0 +1,246 @@
+package com.nativenavj.domain;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.RecordComponent;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+
+/**
+ * Preallocated off-heap telemetry block guarded by a sequence lock.
+ * The writer stages values and publishes them into two buffers in turn
+ * (a sequence latch), so readers always find one consistent buffer and
+ * never allocate or block.
+ */
+public class Telemetry {
+    // Field indices (matches State record component order)
+    public static final int LATITUDE = 0;
+    public static final int LONGITUDE = 1;
+    public static final int HEADING = 2;
+    public static final int ALTITUDE = 3;
+    public static final int ROLL = 4;
+    public static final int PITCH = 5;
+    public static final int YAW = 6;
+    public static final int SPEED = 7;
+    public static final int CLIMB = 8;
+    public static final int TIME = 9;
+
+    private static final RecordComponent[] COMPONENTS = State.class.getRecordComponents();
+    public static final int SIZE = COMPONENTS.length;
+
+    private static final long BYTES = SIZE * JAVA_DOUBLE.byteSize();
+    private static final VarHandle SEQUENCE;
+    // Composed once, so the JIT inlines every accessor and the constructor
+    private static final MethodHandle STAGE; // (Telemetry, State) void
+    private static final MethodHandle CONSTRUCTOR; // (double[]) State
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SEQUENCE = lookup.findVarHandle(Telemetry.class, "sequence", long.class);
+            MethodHandle set = lookup.findVirtual(Telemetry.class, "set",
+                    MethodType.methodType(void.class, int.class, double.class));
+            MethodHandle element = MethodHandles.arrayElementGetter(double[].class);
+            MethodHandle stage = MethodHandles.empty(MethodType.methodType(void.class, Telemetry.class, State.class));
+            MethodHandle[] getters = new MethodHandle[SIZE];
+            Class<?>[] types = new Class<?>[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                MethodHandle accessor = lookup.unreflect(COMPONENTS[i].getAccessor());
+                stage = MethodHandles.foldArguments(stage,
+                        MethodHandles.filterArguments(MethodHandles.insertArguments(set, 1, i), 1, accessor));
+                getters[i] = MethodHandles.insertArguments(element, 1, i);
+                types[i] = double.class;
+            }
+            STAGE = stage;
+            MethodHandle constructor = MethodHandles.filterArguments(
+                    lookup.findConstructor(State.class, MethodType.methodType(void.class, types)), 0, getters);
+            CONSTRUCTOR = MethodHandles.permuteArguments(constructor,
+                    MethodType.methodType(State.class, double[].class), new int[SIZE]);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final MemorySegment block;
+    private final MemorySegment staging;
+    private final History history;
+    private volatile Recorder recorder;
+    private volatile Thread waiter;
+    private volatile long sequence;
+
+    public Telemetry() {
+        this(null);
+    }
+
+    /**
+     * @param history the ring buffer that receives every published frame, or null
+     */
+    public Telemetry(History history) {
+        this.history = history;
+        Arena arena = Arena.ofAuto();
+        this.block = arena.allocate(2 * BYTES, JAVA_DOUBLE.byteAlignment());
+        this.staging = arena.allocate(BYTES, JAVA_DOUBLE.byteAlignment());
+    }
+
+    /**
+     * Stages a single value for the next publish. Writer thread only.
+     */
+    public void set(int index, double value) {
+        staging.setAtIndex(JAVA_DOUBLE, index, value);
+    }
+
+    /**
+     * Stages consecutive doubles copied from a native segment. Writer thread only.
+     *
+     * @param source the segment holding the values
+     * @param offset the byte offset of the first value in the source
+     * @param index  the first field index to overwrite
+     * @param count  the number of values to copy
+     */
+    public void copy(MemorySegment source, long offset, int index, int count) {
+        MemorySegment.copy(source, offset, staging, index * JAVA_DOUBLE.byteSize(), count * JAVA_DOUBLE.byteSize());
+    }
+
+    /**
+     * Publishes the staged values to readers. Writer thread only.
+     */
+    public void publish() {
+        long current = sequence;
+        // Release: the buffer 1 copy of the last publish lands before readers are sent to it
+        SEQUENCE.setRelease(this, current + 1);
+        VarHandle.storeStoreFence();
+        MemorySegment.copy(staging, 0, block, 0, BYTES);
+        SEQUENCE.setRelease(this, current + 2);
+        VarHandle.storeStoreFence();
+        MemorySegment.copy(staging, 0, block, BYTES, BYTES);
+        if (history != null) {
+            history.append(staging);
+        }
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        Recorder sink = recorder;
+        if (sink != null) {
+            sink.write(Recorder.Kind.STATE, 0, staging.getAtIndex(JAVA_DOUBLE, TIME), staging, SIZE);
+        }
+    }
+
+    /**
+     * @param recorder the flight recorder that receives every published frame, or null
+     */
+    public void setRecorder(Recorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Stages and publishes a complete State. Writer thread only.
+     */
+    public void write(State state) {
+        try {
+            STAGE.invokeExact(this, state);
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to read State component", t);
+        }
+        publish();
+    }
+
+    /**
+     * Copies a consistent snapshot of every field into the caller-owned array.
+     *
+     * @param values an array of at least SIZE elements
+     * @return the sequence of the snapshot
+     */
+    public long read(double[] values) {
+        while (true) {
+            long current = (long) SEQUENCE.getAcquire(this);
+            MemorySegment.copy(block, JAVA_DOUBLE, (current & 1) * BYTES, values, 0, SIZE);
+            VarHandle.loadLoadFence();
+            if ((long) SEQUENCE.getOpaque(this) == current)
+                return current;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns a single field from the latest consistent snapshot.
+     */
+    public double get(int index) {
+        while (true) {
+            long current = (long) SEQUENCE.getAcquire(this);
+            double value = block.getAtIndex(JAVA_DOUBLE, (current & 1) * SIZE + index);
+            VarHandle.loadLoadFence();
+            if ((long) SEQUENCE.getOpaque(this) == current)
+                return value;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Fills a reading with one field and the simulator time of the same snapshot.
+     */
+    public void sample(int index, Reading reading) {
+        while (true) {
+            long current = (long) SEQUENCE.getAcquire(this);
+            long base = (current & 1) * SIZE;
+            double value = block.getAtIndex(JAVA_DOUBLE, base + index);
+            double time = block.getAtIndex(JAVA_DOUBLE, base + TIME);
+            VarHandle.loadLoadFence();
+            if ((long) SEQUENCE.getOpaque(this) == current) {
+                reading.set(time, value);
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns the sequence of the latest snapshot. It advances by two per publish.
+     */
+    public long getSequence() {
+        return (long) SEQUENCE.getAcquire(this);
+    }
+
+    /**
+     * Blocks until a frame newer than the given sequence is published or the timeout expires.
+     * Supports a single waiting thread, the frame-synchronous executor.
+     *
+     * @param last    the sequence the caller has already seen
+     * @param timeout the maximum wait in nanoseconds
+     * @return the latest sequence, equal to last on timeout
+     */
+    public long await(long last, long timeout) {
+        long deadline = System.nanoTime() + timeout;
+        waiter = Thread.currentThread();
+        try {
+            long current;
+            while ((current = getSequence()) == last) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || Thread.currentThread().isInterrupted())
+                    break;
+                LockSupport.parkNanos(this, remaining);
+            }
+            return current;
+        } finally {
+            waiter = null;
+        }
+    }
+
+    /**
+     * Adapter for code that still wants a State record.
+     */
+    public State getState() {
+        double[] values = new double[SIZE];
+        read(values);
+        try {
+            return (State) CONSTRUCTOR.invokeExact(values);
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to create State", t);
+        }
+    }
+}
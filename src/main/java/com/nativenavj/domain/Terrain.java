@@ -0,0 +1,288 @@
+package com.nativenavj.domain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Terrain elevation from tiled DEM files of one degree square.
+ * Tiles are memory-mapped by a background loader into a small LRU cache of
+ * slots; lookups only read resident tiles and never touch the disk. A tile
+ * that is not resident yet is requested and the lookup reports NaN, so the
+ * track ahead is prefetched before the aircraft gets there. A tile without a
+ * DEM file is unknown terrain and reads NaN as well, never sea level.
+ */
+public class Terrain implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(Terrain.class);
+
+    public static final int CAPACITY = 16; // resident tiles
+    public static final double CLEARANCE = 1000.0; // ft above the highest terrain ahead
+    private static final double STEP = 1.0; // NM between samples of the floor
+    private static final int SAMPLES = 64; // samples of the floor at most
+    private static final double SPACING = 10.0; // NM between prefetched points
+    private static final String SUFFIX = ".dem";
+
+    // Tile layout: side * side little-endian shorts of elevation in ft, south row first
+    private static final ValueLayout.OfShort SAMPLE = ValueLayout.JAVA_SHORT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * A resident tile. A tile without data has no DEM file and its elevation is unknown.
+     */
+    private static final class Tile {
+        final int key;
+        final MemorySegment data;
+        final int side;
+        volatile long used;
+
+        Tile(int key, MemorySegment data, int side) {
+            this.key = key;
+            this.data = data;
+            this.side = side;
+        }
+
+        double elevation(double row, double column) {
+            if (data == null)
+                return Double.NaN;
+            int last = side - 1;
+            row *= last;
+            column *= last;
+            int south = Math.min((int) row, last - 1);
+            int west = Math.min((int) column, last - 1);
+            double up = row - south;
+            double right = column - west;
+            double a = sample(south, west);
+            double b = sample(south, west + 1);
+            double c = sample(south + 1, west);
+            double d = sample(south + 1, west + 1);
+            return (a * (1 - right) + b * right) * (1 - up) + (c * (1 - right) + d * right) * up;
+        }
+
+        private double sample(int row, int column) {
+            return data.get(SAMPLE, 2L * ((long) row * side + column));
+        }
+    }
+
+    private final Path directory;
+    private final AtomicReferenceArray<Tile> slots;
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Terrain-Loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public Terrain(Path directory) {
+        this(directory, CAPACITY);
+    }
+
+    public Terrain(Path directory, int capacity) {
+        this.directory = directory;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Returns the elevation in ft, or NaN if the tile is not resident yet or has no DEM file.
+     * A missing tile is requested from the background loader.
+     */
+    public double elevation(double latitude, double longitude) {
+        longitude = wrap(longitude);
+        double south = Math.floor(latitude);
+        double west = Math.floor(longitude);
+        int key = key((int) south, (int) west);
+        Tile tile = find(key);
+        if (tile == null) {
+            misses.incrementAndGet();
+            request(key);
+            return Double.NaN;
+        }
+        return tile.elevation(latitude - south, longitude - west);
+    }
+
+    /**
+     * Returns the minimum safe altitude over the track ahead: the highest terrain
+     * within the distance plus the clearance. If any sample of the track is not
+     * known, the floor is unknown too and NaN is returned, so an unloaded or
+     * missing high tile never yields a lower floor.
+     *
+     * @param track true course in degrees
+     * @param distance look-ahead in NM
+     */
+    public double floor(double latitude, double longitude, double track, double distance) {
+        int count = Math.min(SAMPLES, (int) (distance / STEP)) + 1;
+        double step = count > 1 ? distance / (count - 1) : 0.0;
+        double north = Math.cos(Math.toRadians(track)) / 60.0;
+        double east = Math.sin(Math.toRadians(track)) / (60.0 * Math.max(0.01, Math.cos(Math.toRadians(latitude))));
+        double highest = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double elevation = elevation(latitude + north * step * i, longitude + east * step * i);
+            if (Double.isNaN(elevation))
+                return Double.NaN;
+            highest = Math.max(highest, elevation);
+        }
+        return highest + CLEARANCE;
+    }
+
+    /**
+     * Requests every tile along the track ahead that is not resident yet.
+     */
+    public void prefetch(double latitude, double longitude, double track, double distance) {
+        double north = Math.cos(Math.toRadians(track)) / 60.0;
+        double east = Math.sin(Math.toRadians(track)) / (60.0 * Math.max(0.01, Math.cos(Math.toRadians(latitude))));
+        for (double d = 0.0; d <= distance; d += SPACING) {
+            double lat = latitude + north * d;
+            if (lat < -90 || lat >= 90)
+                break;
+            int key = key((int) Math.floor(lat), (int) Math.floor(wrap(longitude + east * d)));
+            if (find(key) == null)
+                request(key);
+        }
+    }
+
+    public long getLoads() {
+        return loads.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of tiles waiting for the loader.
+     */
+    public int getPending() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * Returns the file name of the tile whose south-west corner is given, e.g. N47W123.dem.
+     */
+    public static String name(int latitude, int longitude) {
+        return String.format("%s%02d%s%03d%s", latitude < 0 ? "S" : "N", Math.abs(latitude), longitude < 0 ? "W" : "E",
+                Math.abs(longitude), SUFFIX);
+    }
+
+    /**
+     * Writes a tile of side * side samples of a height function of latitude and longitude.
+     */
+    public static void write(Path directory, int latitude, int longitude, int side, DoubleBinaryOperator height)
+            throws IOException {
+        Files.createDirectories(directory);
+        try (Arena arena = Arena.ofConfined();
+                FileChannel channel = FileChannel.open(directory.resolve(name(latitude, longitude)),
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            MemorySegment data = channel.map(FileChannel.MapMode.READ_WRITE, 0, 2L * side * side, arena);
+            for (int row = 0; row < side; row++) {
+                for (int column = 0; column < side; column++) {
+                    double value = height.applyAsDouble(latitude + row / (side - 1.0),
+                            longitude + column / (side - 1.0));
+                    data.set(SAMPLE, 2L * ((long) row * side + column), (short) Math.round(value));
+                }
+            }
+            data.force();
+        }
+    }
+
+    private Tile find(int key) {
+        for (int i = 0; i < slots.length(); i++) {
+            Tile tile = slots.get(i);
+            if (tile != null && tile.key == key) {
+                long now = clock.get();
+                if (tile.used != now)
+                    tile.used = clock.incrementAndGet();
+                return tile;
+            }
+        }
+        return null;
+    }
+
+    private void request(int key) {
+        if (pending.add(key)) {
+            try {
+                loader.execute(() -> load(key));
+            } catch (RuntimeException e) {
+                pending.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Maps a tile, loads it into memory and replaces the least recently used slot.
+     * Runs on the loader thread only.
+     */
+    private void load(int key) {
+        try {
+            if (find(key) != null)
+                return;
+            int latitude = key / 360 - 90;
+            int longitude = key % 360 - 180;
+            Path path = directory.resolve(name(latitude, longitude));
+            Tile tile;
+            if (Files.exists(path)) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    int side = (int) Math.round(Math.sqrt(channel.size() / 2.0));
+                    if (side < 2 || 2L * side * side != channel.size())
+                        throw new IOException("Not a terrain tile: " + path);
+                    // Unmapped by the garbage collector once evicted and no longer read
+                    MemorySegment data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto());
+                    // Fault every page in here so lookups on the Computer thread never wait for the disk
+                    data.load();
+                    tile = new Tile(key, data, side);
+                }
+            } else {
+                log.warn("No terrain tile {}, elevation unknown", path.getFileName());
+                tile = new Tile(key, null, 2);
+            }
+            tile.used = clock.incrementAndGet();
+            int victim = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                Tile current = slots.get(i);
+                if (current == null) {
+                    victim = i;
+                    break;
+                }
+                if (current.used < slots.get(victim).used)
+                    victim = i;
+            }
+            slots.set(victim, tile);
+            loads.incrementAndGet();
+            log.debug("Loaded terrain tile {}", path.getFileName());
+        } catch (IOException e) {
+            log.warn("Failed to load terrain tile {}", key, e);
+        } finally {
+            pending.remove(key);
+        }
+    }
+
+    private static int key(int latitude, int longitude) {
+        return (latitude + 90) * 360 + (longitude + 180);
+    }
+
+    private static double wrap(double longitude) {
+        return ((longitude + 180.0) % 360.0 + 360.0) % 360.0 - 180.0;
+    }
+}
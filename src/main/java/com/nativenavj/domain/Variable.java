@@ -0,0 +1,27 @@
+package com.nativenavj.domain;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the simulator variable behind a telemetry record component.
+ * The telemetry schema generates the data definitions, the memory layout and
+ * the decoder from these annotations.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.RECORD_COMPONENT)
+public @interface Variable {
+    /** The simulator variable name, e.g. "PLANE ALTITUDE". */
+    String name();
+
+    /** The unit requested from the simulator, e.g. "feet". */
+    String unit();
+
+    /** How often the simulator sends the variable. */
+    Rate rate() default Rate.FRAME;
+
+    /** The minimum change reported for CHANGE variables. */
+    float epsilon() default 0.0f;
+}
@@ -0,0 +1,39 @@
+package com.nativenavj.port;
+
+/**
+ * Port for the aircraft that receives the controller outputs.
+ * The Connector forwards them to the simulator; a Replay collects them.
+ */
+public interface Aircraft {
+    /**
+     * @param value normalized elevator deflection [-1.0, 1.0]
+     */
+    void setElevator(double value);
+
+    /**
+     * @param value normalized aileron deflection [-1.0, 1.0]
+     */
+    void setAileron(double value);
+
+    /**
+     * @param value normalized rudder deflection [-1.0, 1.0]
+     */
+    void setRudder(double value);
+
+    /**
+     * @param value normalized throttle position [0.0, 1.0]
+     */
+    void setThrottle(double value);
+
+    /**
+     * Opens a control frame. Values set until the matching commit may be held back and sent together.
+     */
+    default void begin() {
+    }
+
+    /**
+     * Ends a control frame. Values set since the last commit may be sent together.
+     */
+    default void commit() {
+    }
+}
@@ -0,0 +1,16 @@
+package com.nativenavj.port;
+
+/**
+ * Port for the point of the flight envelope used to schedule gains.
+ */
+public interface Envelope {
+    /**
+     * @return the indicated airspeed in knots
+     */
+    double speed();
+
+    /**
+     * @return the altitude in feet
+     */
+    double altitude();
+}
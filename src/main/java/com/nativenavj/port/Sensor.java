@@ -1,5 +1,6 @@
 package com.nativenavj.port;
 
+import com.nativenavj.domain.Reading;
 import com.nativenavj.domain.Sample;
 
 /**
@@ -7,9 +8,19 @@ import com.nativenavj.domain.Sample;
  */
 public interface Sensor {
     /**
-     * Returns the latest sample from the simulator.
+     * Fills the caller-owned reading with a value and the simulator time of
+     * the same telemetry snapshot. Leaves it empty when no value is available.
+     */
+    void read(Reading reading);
+
+    /**
+     * Returns the latest sample from the simulator. Allocates; prefer read.
      * 
-     * @return a Sample containing value and simulator time
+     * @return a Sample containing value and simulator time, or null
      */
-    Sample getSample();
+    default Sample getSample() {
+        Reading reading = new Reading();
+        read(reading);
+        return reading.isPresent() ? new Sample(reading.getTime(), reading.getValue()) : null;
+    }
 }
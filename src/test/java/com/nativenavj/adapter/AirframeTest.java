@@ -0,0 +1,105 @@
+package com.nativenavj.adapter;
+
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.State;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AirframeTest {
+
+    private Memory memory;
+    private Airframe airframe;
+
+    @BeforeEach
+    void setUp() {
+        memory = new Memory();
+        airframe = new Airframe(memory, new State(47.0, 8.0, 90, 5000, 0, 0, 90, 120, 0, 0));
+    }
+
+    @Test
+    void shouldPublishInitialState() {
+        assertEquals(5000.0, memory.getState().altitude());
+        assertEquals(120.0, memory.getState().speed(), 1e-9);
+    }
+
+    @Test
+    void shouldClimbWithElevatorUp() {
+        airframe.setThrottle(1.0);
+        airframe.setElevator(0.5);
+        fly(2.0);
+        airframe.setElevator(0.0);
+        fly(5.0);
+
+        State state = memory.getState();
+        assertTrue(state.pitch() > 0);
+        assertTrue(state.climb() > 0);
+        assertTrue(state.altitude() > 5000);
+    }
+
+    @Test
+    void shouldTurnRightWhenBankedRight() {
+        airframe.setThrottle(0.7);
+        airframe.setAileron(1.0);
+        fly(1.5);
+        airframe.setAileron(0.0);
+        fly(10.0);
+
+        State state = memory.getState();
+        assertEquals(15.0, state.roll(), 1e-6);
+        assertTrue(state.heading() > 100);
+        assertTrue(state.latitude() < 47.0 + 1e-3);
+        assertTrue(state.longitude() > 8.0);
+    }
+
+    @Test
+    void shouldAdvanceSimulatorTime() {
+        fly(1.0);
+        assertEquals(1.0, memory.getState().time(), 1e-9);
+    }
+
+    @Test
+    void shouldAccelerateSlowerWhenHeavier() {
+        Memory heavy = new Memory();
+        Airframe loaded = new Airframe(heavy, new State(47.0, 8.0, 90, 5000, 0, 0, 90, 120, 0, 0),
+                new Disturbance(0, 0, 0, 1.5, 0, 0));
+        airframe.setThrottle(1.0);
+        loaded.setThrottle(1.0);
+        for (int i = 0; i < 250; i++) {
+            airframe.step(0.02);
+            loaded.step(0.02);
+        }
+        assertTrue(heavy.getState().speed() < memory.getState().speed());
+    }
+
+    @Test
+    void shouldDriftWithTheWind() {
+        Memory windy = new Memory();
+        // Wind from the north pushes a plane flying east to the south
+        Airframe drifting = new Airframe(windy, new State(47.0, 8.0, 90, 5000, 0, 0, 90, 120, 0, 0),
+                new Disturbance(20, 0, 0, 1, 0, 0));
+        for (int i = 0; i < 500; i++) {
+            drifting.step(0.02);
+        }
+        assertTrue(windy.getState().latitude() < 47.0);
+    }
+
+    @Test
+    void shouldAddReproducibleSensorNoise() {
+        State initial = new State(47.0, 8.0, 90, 5000, 0, 0, 90, 120, 0, 0);
+        Disturbance noise = new Disturbance(0, 0, 0, 1, 0.5, 42);
+        Memory first = new Memory();
+        Memory second = new Memory();
+        new Airframe(first, initial, noise).step(0.02);
+        new Airframe(second, initial, noise).step(0.02);
+        assertNotEquals(0.0, first.getState().pitch());
+        assertEquals(first.getState(), second.getState());
+    }
+
+    private void fly(double seconds) {
+        for (int i = 0; i < Math.round(seconds / 0.02); i++) {
+            airframe.step(0.02);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.nativenavj.adapter;
+
+import com.nativenavj.domain.Axis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelTest {
+
+    private Channel channel;
+
+    @BeforeEach
+    void setUp() {
+        channel = new Channel();
+    }
+
+    @Test
+    void shouldTakeLatestValue() {
+        channel.write(Axis.ELEVATOR, 0.1);
+        channel.write(Axis.ELEVATOR, 0.2);
+        assertEquals(0.2, channel.take(Axis.ELEVATOR));
+    }
+
+    @Test
+    void shouldEmptySlotAfterTake() {
+        channel.write(Axis.AILERON, 0.3);
+        channel.take(Axis.AILERON);
+        assertTrue(Double.isNaN(channel.take(Axis.AILERON)));
+    }
+
+    @Test
+    void shouldKeepAxesIndependent() {
+        channel.write(Axis.RUDDER, 0.4);
+        assertTrue(Double.isNaN(channel.take(Axis.THROTTLE)));
+    }
+
+    @Test
+    void shouldCountSupersededWrites() {
+        channel.write(Axis.ELEVATOR, 0.1);
+        channel.write(Axis.ELEVATOR, 0.2);
+        channel.write(Axis.ELEVATOR, 0.3);
+        assertEquals(2, channel.getSuperseded());
+    }
+
+    @Test
+    void shouldDropNonFiniteValues() {
+        channel.write(Axis.THROTTLE, Double.NaN);
+        assertEquals(1, channel.getDropped());
+        assertTrue(Double.isNaN(channel.take(Axis.THROTTLE)));
+    }
+}
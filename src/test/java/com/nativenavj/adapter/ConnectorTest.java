@@ -2,10 +2,15 @@ package com.nativenavj.adapter;
 
 import com.nativenavj.domain.Memory;
 import com.nativenavj.domain.State;
+import com.nativenavj.domain.Telemetry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+import static java.lang.foreign.ValueLayout.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -50,4 +55,134 @@ class ConnectorTest {
             System.err.println("Skipping testCommandQueuing: " + e.getMessage());
         }
     }
+
+    @Test
+    void shouldStoreTelemetryFromDispatchedFrame() throws InterruptedException {
+        Memory local = new Memory();
+        MockTransport transport = new MockTransport();
+        connector = new Connector(local, transport, Connector.Mode.EVENT);
+        transport.deliver(frame(5.0));
+        awaitSequence(local, 2);
+        connector.stop();
+        assertEquals(5.0, local.getState().pitch());
+    }
+
+    @Test
+    void shouldPublishChangedValueWithNextFrame() throws InterruptedException {
+        Memory local = new Memory();
+        MockTransport transport = new MockTransport();
+        connector = new Connector(local, transport, Connector.Mode.EVENT);
+        transport.deliver(change(Telemetry.ALTITUDE, 2500.0));
+        transport.deliver(frame(0.0));
+        awaitSequence(local, 2);
+        connector.stop();
+        assertEquals(2500.0, local.getState().altitude());
+    }
+
+    @Test
+    void shouldTransmitCommandOnWakeUp() throws InterruptedException {
+        MockTransport transport = new MockTransport();
+        connector = new Connector(new Memory(), transport, Connector.Mode.EVENT);
+        connector.setElevator(0.5);
+        int[] event = transport.nextEvent(1000);
+        connector.stop();
+        assertArrayEquals(new int[] { 1, 8191 }, event);
+    }
+
+    @Test
+    void shouldCloseTransportWhenOpenFails() throws InterruptedException {
+        MockTransport transport = new MockTransport();
+        transport.setResult(-1);
+        connector = new Connector(new Memory(), transport, Connector.Mode.EVENT);
+        assertTrue(transport.awaitClose(1000));
+        connector.stop();
+    }
+
+    @Test
+    void shouldCountWakeUps() throws InterruptedException {
+        MockTransport transport = new MockTransport();
+        connector = new Connector(new Memory(), transport, Connector.Mode.EVENT);
+        connector.setAileron(0.1);
+        transport.nextEvent(1000);
+        connector.stop();
+        assertTrue(connector.getStatistics().wakeup() > 0);
+    }
+
+    @Test
+    void shouldNotTransmitUnchangedCommand() throws InterruptedException {
+        MockTransport transport = new MockTransport();
+        connector = new Connector(new Memory(), transport, Connector.Mode.EVENT);
+        connector.setElevator(0.5);
+        assertNotNull(transport.nextEvent(1000));
+        connector.setElevator(0.5);
+        assertNull(transport.nextEvent(200));
+        connector.setElevator(0.25);
+        int[] event = transport.nextEvent(1000);
+        connector.stop();
+        assertArrayEquals(new int[] { 1, 4095 }, event);
+        assertEquals(2, connector.getStatistics().sent());
+        assertEquals(1, connector.getStatistics().suppressed());
+    }
+
+    @Test
+    void shouldSignalFromSettersOutsideFrame() throws InterruptedException {
+        MockTransport transport = new MockTransport();
+        connector = new Connector(new Memory(), transport, Connector.Mode.EVENT);
+        connector.begin();
+        int signals = transport.getSignals();
+        connector.setElevator(0.5);
+        assertEquals(signals, transport.getSignals());
+        connector.commit();
+        assertNotNull(transport.nextEvent(1000));
+
+        // A frame does not latch: per-axis controllers wake the handler themselves again
+        signals = transport.getSignals();
+        connector.setElevator(0.25);
+        assertEquals(signals + 1, transport.getSignals());
+        int[] event = transport.nextEvent(1000);
+        connector.stop();
+        assertArrayEquals(new int[] { 1, 4095 }, event);
+    }
+
+    @Test
+    void shouldWriteAllAxesInOneDataSet() throws InterruptedException {
+        MockTransport transport = new MockTransport();
+        connector = new Connector(new Memory(), transport, Connector.Mode.EVENT, Connector.Output.DATA);
+        connector.setElevator(0.1);
+        connector.setAileron(0.2);
+        connector.setRudder(0.3);
+        connector.setThrottle(0.4);
+        double[] data = transport.nextData(1000);
+        connector.stop();
+        assertArrayEquals(new double[] { 0.1, 0.2, 0.3, 0.4 }, data);
+    }
+
+    private static void awaitSequence(Memory memory, long sequence) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (memory.getTelemetry().getSequence() < sequence && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static MemorySegment frame(double pitch) {
+        MemorySegment segment = header(1, 7, 96);
+        segment.set(JAVA_DOUBLE, 40 + 16, pitch);
+        return segment;
+    }
+
+    private static MemorySegment change(int datum, double value) {
+        MemorySegment segment = header(3, 1, 52);
+        segment.set(JAVA_INT_UNALIGNED, 40, datum);
+        segment.set(JAVA_DOUBLE_UNALIGNED, 44, value);
+        return segment;
+    }
+
+    private static MemorySegment header(int request, int count, int size) {
+        MemorySegment segment = Arena.ofAuto().allocate(size);
+        segment.set(JAVA_INT, 0, size);
+        segment.set(JAVA_INT, 8, SimConnect.SIMCONNECT_RECV_ID_SIMOBJECT_DATA);
+        segment.set(JAVA_INT, 12, request);
+        segment.set(JAVA_INT, 36, count);
+        return segment;
+    }
 }
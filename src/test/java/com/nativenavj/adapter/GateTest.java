@@ -0,0 +1,67 @@
+package com.nativenavj.adapter;
+
+import com.nativenavj.domain.Axis;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GateTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void shouldSendFirstCommand() {
+        Gate gate = new Gate();
+        assertFalse(gate.pass(Axis.ELEVATOR, 0));
+        gate.offer(Axis.ELEVATOR, 0.5);
+        assertTrue(gate.pass(Axis.ELEVATOR, 0));
+        assertEquals(1, gate.getSent());
+    }
+
+    @Test
+    void shouldSuppressUnchangedPosition() {
+        Gate gate = new Gate();
+        gate.offer(Axis.AILERON, 0.5);
+        gate.pass(Axis.AILERON, 0);
+        // Same quantized step
+        gate.offer(Axis.AILERON, 0.50001);
+        assertFalse(gate.pass(Axis.AILERON, 10 * MS));
+        gate.offer(Axis.AILERON, 0.6);
+        assertTrue(gate.pass(Axis.AILERON, 20 * MS));
+        assertEquals(2, gate.getSent());
+        assertEquals(1, gate.getSuppressed());
+    }
+
+    @Test
+    void shouldSuppressInsideDeadband() {
+        Gate gate = new Gate(new int[] { 100, 0, 0, 0 }, 0, 1000);
+        gate.offer(Axis.ELEVATOR, 0.0);
+        gate.pass(Axis.ELEVATOR, 0);
+        gate.offer(Axis.ELEVATOR, 50.0 / Gate.RESOLUTION);
+        assertFalse(gate.pass(Axis.ELEVATOR, MS));
+        gate.offer(Axis.ELEVATOR, 200.0 / Gate.RESOLUTION);
+        assertTrue(gate.pass(Axis.ELEVATOR, 2 * MS));
+    }
+
+    @Test
+    void shouldHoldChangeUntilIntervalPassed() {
+        Gate gate = new Gate(0, 50, 1000);
+        gate.offer(Axis.RUDDER, 0.1);
+        gate.pass(Axis.RUDDER, 0);
+        gate.offer(Axis.RUDDER, 0.2);
+        assertFalse(gate.pass(Axis.RUDDER, 10 * MS));
+        assertTrue(gate.pass(Axis.RUDDER, 60 * MS));
+        assertEquals(0.2, gate.get(Axis.RUDDER));
+        assertEquals(0, gate.getSuppressed());
+    }
+
+    @Test
+    void shouldRefreshLastValue() {
+        Gate gate = new Gate(0, 0, 100);
+        gate.offer(Axis.THROTTLE, 0.8);
+        gate.pass(Axis.THROTTLE, 0);
+        assertFalse(gate.pass(Axis.THROTTLE, 50 * MS));
+        assertTrue(gate.pass(Axis.THROTTLE, 100 * MS));
+        assertEquals(2, gate.getSent());
+    }
+}
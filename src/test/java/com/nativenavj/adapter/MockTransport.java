@@ -0,0 +1,145 @@
+package com.nativenavj.adapter;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+
+/**
+ * Stub transport for testing the Connector without SimConnect.dll.
+ * Delivers queued messages on dispatch and records transmitted events.
+ */
+public class MockTransport implements Transport {
+    private final Queue<MemorySegment> messages = new ConcurrentLinkedQueue<>();
+    private final BlockingQueue<int[]> events = new LinkedBlockingQueue<>();
+    private final BlockingQueue<double[]> data = new LinkedBlockingQueue<>();
+    private final Semaphore signals = new Semaphore(0);
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private final AtomicInteger wakeups = new AtomicInteger();
+    private volatile int result;
+
+    /**
+     * Sets the HRESULT returned by open, negative to simulate a failure.
+     */
+    public void setResult(int result) {
+        this.result = result;
+    }
+
+    /**
+     * Waits until the transport is closed.
+     */
+    public boolean awaitClose(long timeout) throws InterruptedException {
+        return closed.await(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a simulator message and wakes the handler thread.
+     */
+    public void deliver(MemorySegment message) {
+        messages.add(message);
+        signal();
+    }
+
+    /**
+     * Waits for the next transmitted client event.
+     *
+     * @return the event ID and data, or null on timeout
+     */
+    public int[] nextEvent(long timeout) throws InterruptedException {
+        return events.poll(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits for the next data set written with setDataOnSimObject.
+     *
+     * @return the written doubles, or null on timeout
+     */
+    public double[] nextData(long timeout) throws InterruptedException {
+        return data.poll(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int open(String name) {
+        return result;
+    }
+
+    @Override
+    public int close() {
+        closed.countDown();
+        return 0;
+    }
+
+    @Override
+    public int dispatch(Receiver receiver) {
+        MemorySegment message;
+        while ((message = messages.poll()) != null) {
+            receiver.receive(message);
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean await(long timeout) throws InterruptedException {
+        boolean signalled = signals.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+        signals.drainPermits();
+        return signalled;
+    }
+
+    @Override
+    public void signal() {
+        wakeups.incrementAndGet();
+        signals.release();
+    }
+
+    /**
+     * Returns how often the handler was signalled.
+     */
+    public int getSignals() {
+        return wakeups.get();
+    }
+
+    @Override
+    public int addToDataDefinition(int definition, String datum, String unit, int type, float epsilon,
+            int identifier) {
+        return 0;
+    }
+
+    @Override
+    public int requestDataOnSimObject(int request, int definition, int object, int period, int flags) {
+        return 0;
+    }
+
+    @Override
+    public int setDataOnSimObject(int definition, int object, int flags, int count, int size, MemorySegment data) {
+        this.data.add(data.asSlice(0, size).toArray(JAVA_DOUBLE));
+        return 0;
+    }
+
+    @Override
+    public int mapClientEventToSimEvent(int event, String name) {
+        return 0;
+    }
+
+    @Override
+    public int transmitClientEvent(int object, int event, int data, int group, int flags) {
+        events.add(new int[] { event, data });
+        return 0;
+    }
+
+    @Override
+    public int addClientEventToNotificationGroup(int group, int event, int maskable) {
+        return 0;
+    }
+
+    @Override
+    public int setNotificationGroupPriority(int group, int priority) {
+        return 0;
+    }
+}
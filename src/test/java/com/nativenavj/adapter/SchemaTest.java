@@ -0,0 +1,58 @@
+package com.nativenavj.adapter;
+
+import com.nativenavj.domain.Rate;
+import com.nativenavj.domain.State;
+import com.nativenavj.domain.Telemetry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+import static java.lang.foreign.ValueLayout.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaTest {
+
+    private final Schema schema = Schema.of(State.class, 1);
+
+    @Test
+    void shouldGroupVariablesByRate() {
+        assertEquals(7, schema.layout().get(Rate.FRAME).memberLayouts().size());
+    }
+
+    @Test
+    void shouldAssignDefinitionPerRate() {
+        assertEquals(2, schema.definition(Rate.SECOND));
+    }
+
+    @Test
+    void shouldDecodeFrameIntoTelemetry() throws Throwable {
+        Telemetry telemetry = new Telemetry();
+        MemorySegment message = message(1, 96);
+        message.set(JAVA_DOUBLE, 40 + 8, 12.5); // roll
+        schema.decode(message, telemetry);
+        assertEquals(12.5, telemetry.get(Telemetry.ROLL));
+    }
+
+    @Test
+    void shouldStageSecondGroupWithoutPublishing() throws Throwable {
+        Telemetry telemetry = new Telemetry();
+        MemorySegment message = message(2, 56);
+        message.set(JAVA_DOUBLE, 40, 49.2); // latitude
+        schema.decode(message, telemetry);
+        assertEquals(0, telemetry.getSequence());
+    }
+
+    @Test
+    void shouldRejectShortMessage() throws Throwable {
+        assertFalse(schema.decode(message(1, 48), new Telemetry()));
+    }
+
+    private static MemorySegment message(int request, int size) {
+        MemorySegment segment = Arena.ofAuto().allocate(size);
+        segment.set(JAVA_INT, 0, size);
+        segment.set(JAVA_INT, 8, SimConnect.SIMCONNECT_RECV_ID_SIMOBJECT_DATA);
+        segment.set(JAVA_INT, 12, request);
+        return segment;
+    }
+}
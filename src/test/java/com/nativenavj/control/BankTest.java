@@ -0,0 +1,144 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Axis;
+import com.nativenavj.domain.Configuration;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Target;
+import com.nativenavj.domain.Telemetry;
+import com.nativenavj.port.Aircraft;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BankTest {
+
+    private static final int SIZE = Axis.values().length;
+
+    private Memory memory;
+    private Aircraft aircraft;
+    private Bank bank;
+    private Controller[] controller;
+    private double[] objective;
+    private double[] sample;
+    private double time;
+
+    @BeforeEach
+    void setUp() {
+        memory = new Memory();
+        aircraft = mock(Aircraft.class);
+        bank = new Bank(memory, aircraft);
+        // The controllers below run every step
+        bank.setFrequency(Axis.THROTTLE, 50.0);
+        objective = new double[SIZE];
+        sample = new double[SIZE];
+        controller = new Controller[SIZE];
+        for (Axis axis : Axis.values()) {
+            int i = axis.ordinal();
+            controller[i] = new Controller(() -> objective[i], value -> {
+            }, reading -> reading.set(time, sample[i]), bank.getConfiguration(axis));
+        }
+    }
+
+    @Test
+    void shouldMatchControllerIncludingAntiWindup() {
+        Random random = new Random(42);
+        for (int step = 0; step < 1000; step++) {
+            time += step % 100 == 0 ? 2.0 : 0.02;
+            for (int i = 0; i < SIZE; i++) {
+                objective[i] = random.nextDouble() * 40 - 20;
+                sample[i] = random.nextDouble() * 40 - 20;
+            }
+            advance();
+        }
+    }
+
+    @Test
+    void shouldMatchBumplessTransfer() {
+        for (int step = 0; step < 50; step++) {
+            time += 0.02;
+            objective[0] = 0.5;
+            sample[0] = step * 0.01;
+            advance();
+        }
+        double before = bank.getOutput(Axis.ELEVATOR);
+        Configuration configuration = new Configuration(2.0, 0.5, 0.5, -1.0, 1.0);
+        bank.setConfiguration(Axis.ELEVATOR, configuration);
+        controller[0] = controller[0].setConfiguration(configuration);
+        for (int step = 50; step < 100; step++) {
+            time += 0.02;
+            sample[0] = step * 0.01;
+            advance();
+            if (step == 50) {
+                // The damping still acts on the ramp, so only the error step moves the output
+                assertEquals(before, bank.getOutput(Axis.ELEVATOR), 0.05);
+            }
+        }
+        assertEquals(configuration, bank.getConfiguration(Axis.ELEVATOR));
+    }
+
+    @Test
+    void shouldSendEveryAxisFromOneSnapshot() {
+        memory.setTarget(new Target(10, 5, 0, 0.5));
+        Telemetry telemetry = memory.getTelemetry();
+        telemetry.set(Telemetry.PITCH, 2.0);
+        telemetry.set(Telemetry.TIME, 1.0);
+        telemetry.publish();
+
+        bank.run();
+
+        verify(aircraft).setElevator(bank.getOutput(Axis.ELEVATOR));
+        verify(aircraft).setAileron(bank.getOutput(Axis.AILERON));
+        verify(aircraft).setRudder(anyDouble());
+        verify(aircraft).setThrottle(anyDouble());
+        verify(aircraft).commit();
+    }
+
+    @Test
+    void shouldSkipInactiveAxis() {
+        bank.setActive(Axis.RUDDER, false);
+        bank.run();
+        verify(aircraft, never()).setRudder(anyDouble());
+        assertFalse(bank.isActive(Axis.RUDDER));
+    }
+
+    @Test
+    void shouldStepEachAxisAtItsOwnRate() {
+        Bank local = new Bank(memory, aircraft);
+        double[] target = new double[SIZE];
+        target[Axis.THROTTLE.ordinal()] = 0.5;
+        double[] measured = new double[SIZE];
+        int elevator = 0;
+        int throttle = 0;
+        double last = Double.NaN;
+        local.step(target, measured, 0.0);
+        for (int step = 1; step <= 50; step++) {
+            double before = local.getOutput(Axis.ELEVATOR);
+            double held = local.getOutput(Axis.THROTTLE);
+            Arrays.fill(measured, (step % 2) * 0.01 + step * 0.001);
+            local.step(target, measured, step * 0.02);
+            if (local.getOutput(Axis.ELEVATOR) != before)
+                elevator++;
+            if (local.getOutput(Axis.THROTTLE) != held) {
+                throttle++;
+                last = step * 0.02;
+            }
+        }
+        // One second: every frame for the surfaces, every fifth for the throttle
+        assertEquals(50, elevator);
+        assertEquals(10, throttle);
+        assertEquals(1.0, last, 1e-9);
+    }
+
+    private void advance() {
+        bank.step(objective, sample, time);
+        for (Axis axis : Axis.values()) {
+            controller[axis.ordinal()].run();
+            assertEquals(controller[axis.ordinal()].output, bank.getOutput(axis), 0.0, axis.name());
+        }
+    }
+}
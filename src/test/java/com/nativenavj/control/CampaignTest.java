@@ -0,0 +1,48 @@
+package com.nativenavj.control;
+
+import com.nativenavj.adapter.Disturbance;
+import com.nativenavj.domain.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CampaignTest {
+
+    @Test
+    void shouldAggregateEveryRun() {
+        Campaign.Summary summary = new Campaign(1).run(16);
+        assertEquals(16, summary.runs());
+        assertTrue(summary.diverged() <= summary.runs());
+        assertTrue(summary.worst() >= summary.overshoot());
+    }
+
+    @Test
+    void shouldHoldGoalWhenUndisturbed() {
+        State initial = new State(47.0, 8.0, 120.0, 5500.0, 0.0, 0.0, 120.0, 120.0, 0.0, 0.0);
+        Campaign.Outcome outcome = new Campaign(1).fly(initial, Disturbance.NONE);
+        assertFalse(outcome.diverged(), outcome.toString());
+        assertEquals(0.0, outcome.settling(), "Run starting on the goal should stay within the bands: " + outcome);
+        assertTrue(outcome.overshoot() < 50.0, outcome.toString());
+        assertEquals(0, outcome.stalls(), outcome.toString());
+    }
+
+    @Test
+    void shouldNotDivergeInUndisturbedTurn() {
+        State initial = new State(47.0, 8.0, 90.0, 5000.0, 0.0, 0.0, 90.0, 120.0, 0.0, 0.0);
+        Campaign.Outcome outcome = new Campaign(1).fly(initial, Disturbance.NONE);
+        assertFalse(outcome.diverged(), outcome.toString());
+        assertTrue(outcome.stalls() > 0, "Stall guard engagements of the Computer should be counted: " + outcome);
+    }
+
+    @Test
+    void shouldReproduceRun() {
+        Campaign campaign = new Campaign(7);
+        assertEquals(campaign.fly(3), campaign.fly(3));
+    }
+
+    @Test
+    void shouldPerturbRuns() {
+        Campaign campaign = new Campaign(7);
+        assertNotEquals(campaign.fly(1), campaign.fly(2));
+    }
+}
@@ -1,10 +1,16 @@
 package com.nativenavj.control;
 
+import com.nativenavj.domain.Goal;
 import com.nativenavj.domain.Memory;
 import com.nativenavj.domain.State;
 import com.nativenavj.domain.Target;
+import com.nativenavj.domain.Terrain;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ComputerTest {
@@ -75,6 +81,69 @@ class ComputerTest {
         assertEquals(1.0, target.power());
     }
 
+    @Test
+    void shouldProtectBeforeStall() {
+        computer.activate();
+        memory.setGoal(new Goal(1000.0, 100.0, 0.0));
+        // Losing 4 kts/s, still 8 kts above the stall speed
+        for (int i = 0; i <= 50; i++) {
+            memory.setState(new State(0, 0, 0, 1000, 0, 0, 0, 72.0 - 4.0 * i * 0.02, 0, i * 0.02));
+        }
+        computer.run();
+        assertTrue(computer.getPredictor().getSpeedMargin() < 0);
+        assertEquals(-10.0, memory.getTarget().pitch());
+
+        // Recovering speed releases the protection
+        for (int i = 51; i <= 100; i++) {
+            memory.setState(new State(0, 0, 0, 1000, 0, -10, 0, 68.0 + 10.0 * (i - 50) * 0.02, 0, i * 0.02));
+        }
+        computer.run();
+        assertTrue(computer.getPredictor().getSpeedMargin() > 5.0);
+        assertNotEquals(-10.0, memory.getTarget().pitch());
+    }
+
+    @Test
+    void shouldHoldProtectionWithoutChatter() {
+        computer.activate();
+        // A climb far above the aircraft holds the nose up until the speed decays
+        memory.setGoal(new Goal(9000.0, 70.0, 0.0));
+        double speed = 80.0;
+        double altitude = 1000.0;
+        double pitch = 10.0;
+        int toggles = 0;
+        int shortest = Integer.MAX_VALUE;
+        int released = Integer.MAX_VALUE;
+        int since = 0;
+        boolean last = false;
+        for (int tick = 0; tick < 600; tick++) {
+            // Point mass at 50 Hz between 10 Hz Computer ticks: pitch follows the target with a 1 s lag
+            for (int frame = 0; frame < 5; frame++) {
+                double time = tick * 0.1 + frame * 0.02;
+                Target target = memory.getTarget();
+                pitch += (target.pitch() - pitch) * 0.02;
+                speed += (-19.07 * Math.sin(Math.toRadians(pitch)) + 8.0 * (target.power() - 0.5)) * 0.02;
+                altitude += speed * 1.68781 * Math.sin(Math.toRadians(pitch)) * 0.02;
+                memory.setState(new State(0, 0, 0, altitude, 0, pitch, 0, speed, 0, time));
+            }
+            computer.run();
+            since++;
+            if (computer.isProtecting() != last) {
+                if (toggles > 0)
+                    shortest = Math.min(shortest, since);
+                if (toggles > 0 && !last)
+                    released = Math.min(released, since);
+                toggles++;
+                since = 0;
+            }
+            last = computer.isProtecting();
+        }
+        assertTrue(computer.getTriggers() >= 1);
+        assertEquals((toggles + 1) / 2, computer.getTriggers());
+        // Protection holds for at least a second and a release is not undone on the next ticks
+        assertTrue(shortest >= 10, "Shortest phase " + shortest + " ticks of " + toggles + " toggles");
+        assertTrue(released >= 50, "Shortest release " + released + " ticks of " + toggles + " toggles");
+    }
+
     @Test
     void shouldNotUpdateTargetWhenInactive() {
         memory.setState(State.neutral());
@@ -82,4 +151,57 @@ class ComputerTest {
         computer.run();
         assertEquals(Target.neutral(), memory.getTarget());
     }
+
+    @Test
+    void shouldClimbAboveTerrainAhead(@TempDir Path directory) throws Exception {
+        Terrain.write(directory, 0, 0, 61, (lat, lon) -> lon > 0.53 ? 3000.0 : 0.0);
+        try (Terrain terrain = new Terrain(directory)) {
+            memory.setTerrain(terrain);
+            memory.setGoal(new Goal(1000.0, 100.0, 90.0));
+            memory.setState(new State(0.5, 0.5, 90.0, 1000, 0, 0, 0, 100.0, 0, 0));
+            computer.activate();
+            computer.run();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (terrain.getPending() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            computer.run();
+            assertEquals(3000.0 + Terrain.CLEARANCE, computer.getFloor(), 1.0);
+            assertTrue(memory.getTarget().pitch() > 0);
+            assertEquals(1000.0, memory.getGoal().height());
+
+            // Heading away from the ridge the goal stands
+            memory.setGoal(new Goal(1500.0, 100.0, 270.0));
+            memory.setState(new State(0.5, 0.5, 270.0, 1000, 0, 0, 0, 100.0, 0, 0));
+            computer.run();
+            assertTrue(Double.isNaN(computer.getFloor()));
+        }
+    }
+
+    @Test
+    void shouldHoldFloorWhileTerrainAheadIsUnknown(@TempDir Path directory) throws Exception {
+        Terrain.write(directory, 0, 0, 61, (lat, lon) -> 3000.0);
+        try (Terrain terrain = new Terrain(directory)) {
+            memory.setTerrain(terrain);
+            memory.setGoal(new Goal(1000.0, 100.0, 270.0));
+            memory.setState(new State(0.5, 0.5, 270.0, 1000, 0, 0, 0, 100.0, 0, 0));
+            computer.activate();
+            computer.run();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (terrain.getPending() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            computer.run();
+            assertEquals(3000.0 + Terrain.CLEARANCE, computer.getFloor(), 1.0);
+
+            // Near the edge the track runs into a tile without a DEM file: the floor stands
+            memory.setState(new State(0.5, 0.01, 270.0, 1000, 0, 0, 0, 100.0, 0, 0));
+            for (int i = 0; i < 3; i++) {
+                computer.run();
+                Thread.sleep(50);
+            }
+            assertEquals(3000.0 + Terrain.CLEARANCE, computer.getFloor(), 1.0);
+            assertTrue(memory.getTarget().pitch() > 0);
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package com.nativenavj.control;
 
 import com.nativenavj.domain.Configuration;
+import com.nativenavj.domain.Table;
+import com.nativenavj.domain.Telemetry;
 import com.nativenavj.port.Objective;
 import com.nativenavj.port.Actuator;
+import com.nativenavj.port.Envelope;
 import com.nativenavj.port.Sensor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -102,4 +105,104 @@ class ControllerTest {
         double output = controller.compute(5.0, 0.0, dt, config);
         assertTrue(output > 0);
     }
+
+    @Test
+    void shouldSwapGainsOnNextTickWithoutBump() {
+        Telemetry telemetry = new Telemetry();
+        double[] signal = new double[1];
+        Controller local = new Controller(() -> 1.0, value -> signal[0] = value,
+                reading -> telemetry.sample(Telemetry.PITCH, reading), config);
+        for (int i = 0; i < 50; i++) {
+            telemetry.set(Telemetry.TIME, i * 0.02);
+            telemetry.publish();
+            local.run();
+        }
+        double before = signal[0];
+        Configuration tuned = new Configuration(3.0, 0.5, 0.05, -100.0, 100.0);
+        local.configure(tuned);
+        assertEquals(tuned, local.getConfiguration());
+
+        telemetry.set(Telemetry.TIME, 50 * 0.02);
+        telemetry.publish();
+        local.run();
+        assertEquals(before, signal[0], 0.05);
+        assertSame(tuned, local.configuration);
+    }
+
+    @Test
+    void shouldScheduleGainsFromEnvelope() {
+        Telemetry telemetry = new Telemetry();
+        double[] signal = new double[1];
+        Controller local = new Controller(() -> 1.0, value -> signal[0] = value,
+                reading -> telemetry.sample(Telemetry.PITCH, reading), config);
+        double[] point = { 60.0, 0.0 };
+        local.setEnvelope(new Envelope() {
+            @Override
+            public double speed() {
+                return point[0];
+            }
+
+            @Override
+            public double altitude() {
+                return point[1];
+            }
+        });
+        // Proportional only: 4 at 60 kts falling to 2 at 120 kts
+        local.setTable(new Table(new double[] { 60, 120 }, new double[] { 0 },
+                new double[] { 4.0, 0, 0, -100, 100, 2.0, 0, 0, -100, 100 }));
+
+        telemetry.set(Telemetry.TIME, 0.02);
+        telemetry.publish();
+        local.run();
+        assertEquals(4.0, signal[0], 1e-9);
+
+        point[0] = 90.0;
+        telemetry.set(Telemetry.TIME, 0.04);
+        telemetry.publish();
+        local.run();
+        assertEquals(3.0, signal[0], 1e-9);
+
+        // Detached: back to the fixed gains without a bump
+        local.setTable(null);
+        telemetry.set(Telemetry.TIME, 0.06);
+        telemetry.publish();
+        local.run();
+        assertEquals(3.0, signal[0], 0.05);
+    }
+
+    @Test
+    void shouldKeepOutputAcrossScheduledGainChangeWithDamping() {
+        Telemetry telemetry = new Telemetry();
+        double[] signal = new double[1];
+        Controller local = new Controller(() -> 0.0, value -> signal[0] = value,
+                reading -> telemetry.sample(Telemetry.PITCH, reading), config);
+        double[] point = { 60.0, 0.0 };
+        local.setEnvelope(new Envelope() {
+            @Override
+            public double speed() {
+                return point[0];
+            }
+
+            @Override
+            public double altitude() {
+                return point[1];
+            }
+        });
+        local.setTable(new Table(new double[] { 60, 120 }, new double[] { 0 },
+                new double[] { 1.0, 0.5, 2.0, -100, 100, 2.0, 1.0, 4.0, -100, 100 }));
+
+        // The pitch ramps at 1 deg/s, so the damping term stays at -D
+        double previous = 0.0;
+        for (int i = 1; i <= 100; i++) {
+            if (i > 50)
+                point[0] = 60.0 + (i - 50) * 1.2; // the airspeed drifts and the gains move every tick
+            telemetry.set(Telemetry.TIME, i * 0.02);
+            telemetry.set(Telemetry.PITCH, i * 0.02);
+            telemetry.publish();
+            local.run();
+            if (i > 2)
+                assertEquals(previous, signal[0], 0.1, "Output jumped at tick " + i);
+            previous = signal[0];
+        }
+    }
 }
@@ -0,0 +1,78 @@
+package com.nativenavj.control;
+
+import com.nativenavj.adapter.Airframe;
+import com.nativenavj.domain.Goal;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Navigator;
+import com.nativenavj.domain.Route;
+import com.nativenavj.domain.Shell;
+import com.nativenavj.domain.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class GuidanceTest {
+
+    private static final Route ROUTE = new Route(new String[] { "A", "B", "C" }, new double[] { 0, 0, 1 },
+            new double[] { 0, 1, 1 });
+
+    @Test
+    void shouldFollowCourseOnTrack() {
+        Guidance guidance = new Guidance();
+        assertEquals(90.0, guidance.steer(ROUTE, 0.0, 0.5), 1e-6);
+        assertEquals(0.0, guidance.getCrossTrack(), 1e-6);
+        assertEquals(30.0, guidance.getAlongTrack(), 0.1);
+        assertEquals(30.0, guidance.getRemaining(), 0.1);
+    }
+
+    @Test
+    void shouldInterceptTowardsTrack() {
+        Guidance guidance = new Guidance();
+        // 0.5 NM left (north) of an eastbound leg: turn right by 15 degrees
+        double heading = guidance.steer(ROUTE, 0.5 / 60, 0.5);
+        assertEquals(0.5, guidance.getCrossTrack(), 0.01);
+        assertEquals(105.0, heading, 0.5);
+        // Far right (south): intercept limited to 45 degrees
+        assertEquals(45.0, guidance.steer(ROUTE, -0.5, 0.5), 0.5);
+    }
+
+    @Test
+    void shouldSequenceAndComplete() {
+        Guidance guidance = new Guidance();
+        guidance.steer(ROUTE, 0.0, 1.01);
+        assertEquals(1, guidance.getLeg());
+        assertEquals(0.0, guidance.getCourse(), 1.0);
+        assertTrue(Double.isNaN(guidance.steer(ROUTE, 1.01, 1.0)));
+        assertTrue(guidance.isComplete());
+    }
+
+    @Test
+    void shouldFlyTheRouteInLockstep() {
+        Memory memory = new Memory();
+        Airframe airframe = new Airframe(memory, new State(0.0, -0.1, 45, 5000, 0, 0, 45, 120, 0, 0));
+        Computer computer = new Computer(memory);
+        new Orchestrator(memory, airframe, computer, mock(Shell.class), mock(Runnable.class));
+        memory.setGoal(new Goal(5000, 120, 45));
+        memory.setNavigator(Navigator.active("AUTONOMOUS"));
+        for (String name : new String[] { "COMPUTER", "PITCH", "ROLL", "THROTTLE" }) {
+            memory.setActive(name, true);
+        }
+        memory.setRoute(ROUTE);
+        Lockstep lockstep = new Lockstep(memory, airframe, 0);
+
+        // Half way along the first leg the aircraft has intercepted it
+        lockstep.run(900);
+        State state = memory.getState();
+        assertEquals(0, computer.getGuidance().getLeg());
+        assertEquals(0.0, computer.getGuidance().getCrossTrack(), 0.5);
+        assertEquals(90.0, state.heading(), 10.0);
+
+        // Both legs flown: the route is cleared at the last waypoint
+        lockstep.run(3300);
+        assertNull(memory.getRoute());
+        // Still on the course of the last leg
+        assertTrue(memory.getState().latitude() > 1.0);
+        assertEquals(1.0, memory.getState().longitude(), 0.02);
+    }
+}
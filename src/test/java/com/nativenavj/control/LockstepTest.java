@@ -0,0 +1,57 @@
+package com.nativenavj.control;
+
+import com.nativenavj.adapter.Airframe;
+import com.nativenavj.domain.Goal;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Navigator;
+import com.nativenavj.domain.Shell;
+import com.nativenavj.domain.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LockstepTest {
+
+    @Test
+    void shouldFlyAnHourFasterThanRealTime() {
+        Memory memory = new Memory();
+        Lockstep lockstep = fly(memory);
+
+        long start = System.nanoTime();
+        assertEquals(180_000, lockstep.run(3600));
+        assertTrue(System.nanoTime() - start < 60_000_000_000L);
+        assertEquals(3600.0, memory.getState().time(), 1e-6);
+    }
+
+    @Test
+    void shouldTurnToTheGoalHeading() {
+        Memory memory = new Memory();
+        fly(memory).run(120);
+
+        State state = memory.getState();
+        assertEquals(120.0, state.heading(), 5.0);
+        assertEquals(0.0, state.roll(), 5.0);
+    }
+
+    @Test
+    void shouldBeDeterministic() {
+        Memory first = new Memory();
+        Memory second = new Memory();
+        fly(first).run(60);
+        fly(second).run(60);
+        assertEquals(first.getState(), second.getState());
+    }
+
+    private static Lockstep fly(Memory memory) {
+        Airframe airframe = new Airframe(memory, new State(47.0, 8.0, 90, 5000, 0, 0, 90, 120, 0, 0));
+        Computer computer = new Computer(memory);
+        new Orchestrator(memory, airframe, computer, mock(Shell.class), mock(Runnable.class));
+        memory.setGoal(new Goal(5000, 120, 120));
+        memory.setNavigator(Navigator.active("AUTONOMOUS"));
+        for (String name : new String[] { "COMPUTER", "PITCH", "ROLL", "THROTTLE" }) {
+            memory.setActive(name, true);
+        }
+        return new Lockstep(memory, airframe, 0);
+    }
+}
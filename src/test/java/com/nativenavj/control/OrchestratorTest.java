@@ -1,13 +1,17 @@
 package com.nativenavj.control;
 
 import com.nativenavj.adapter.Connector;
+import com.nativenavj.domain.Axis;
+import com.nativenavj.domain.Configuration;
 import com.nativenavj.domain.Memory;
 import com.nativenavj.domain.Shell;
+import com.nativenavj.port.Aircraft;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
 
 class OrchestratorTest {
 
@@ -60,4 +64,85 @@ class OrchestratorTest {
     void shouldDeactivateThrottleControllerByDefault() {
         assertFalse(memory.getLoop("THROTTLE").status(), "Throttle controller should be inactive by default");
     }
+
+    @Test
+    void shouldRunControlFrameOnTelemetry() {
+        Memory local = new Memory();
+        Aircraft aircraft = mock(Aircraft.class);
+        Orchestrator orchestrator = new Orchestrator(local, aircraft, computer, shell, mock(Runnable.class),
+                Orchestrator.Execution.SYNCHRONOUS);
+        local.setActive("PITCH", true);
+        local.setFrequency("PITCH", 50.0);
+        orchestrator.run();
+        try {
+            for (int i = 0; i < 10; i++) {
+                local.getTelemetry().publish();
+                verify(aircraft, timeout(1000).atLeast(i + 1)).commit();
+            }
+            verify(aircraft, atLeast(10)).setElevator(anyDouble());
+            verify(aircraft, never()).setAileron(anyDouble());
+        } finally {
+            orchestrator.stop();
+        }
+    }
+
+    @Test
+    void shouldInstrumentScheduledTasks() {
+        Memory local = new Memory();
+        Orchestrator orchestrator = new Orchestrator(local, mock(Aircraft.class), computer, shell,
+                mock(Runnable.class));
+        orchestrator.run();
+        try {
+            Task task = orchestrator.getTasks().get("SHELL");
+            assertNotNull(task);
+            assertEquals(Task.Policy.BURST, task.getPolicy());
+            orchestrator.setPolicy("SHELL", Task.Policy.SKIP);
+            assertEquals(Task.Policy.SKIP, orchestrator.getTasks().get("SHELL").getPolicy());
+            assertFalse(orchestrator.getTasks().containsKey("PITCH"));
+        } finally {
+            orchestrator.stop();
+        }
+    }
+
+    @Test
+    void shouldSwapGainsWithoutRescheduling() {
+        Memory local = new Memory();
+        Orchestrator orchestrator = new Orchestrator(local, mock(Aircraft.class), computer, shell,
+                mock(Runnable.class));
+        orchestrator.configure("PITCH", null, 50.0, true);
+        try {
+            Runnable controller = local.getRunnable("PITCH");
+            Task task = orchestrator.getTasks().get("PITCH");
+            Configuration tuned = new Configuration(1.2, 0.1, 0.05, -1.0, 1.0);
+
+            orchestrator.configure("PITCH", tuned, null, null);
+
+            assertSame(controller, local.getRunnable("PITCH"));
+            assertSame(task, orchestrator.getTasks().get("PITCH"));
+            assertEquals(tuned, ((Controller) controller).getConfiguration());
+            assertEquals(tuned, local.getProfile("PITCH"));
+        } finally {
+            orchestrator.stop();
+        }
+    }
+
+    @Test
+    void shouldRouteAxisGainsAndRatesToBank() {
+        Memory local = new Memory();
+        Orchestrator orchestrator = new Orchestrator(local, mock(Aircraft.class), computer, shell,
+                mock(Runnable.class));
+        try {
+            Bank bank = (Bank) local.getRunnable("BANK");
+            assertEquals(Bank.THROTTLE, bank.getFrequency(Axis.THROTTLE), 1e-9);
+            Configuration tuned = new Configuration(1.2, 0.1, 0.05, -1.0, 1.0);
+
+            orchestrator.configure("THROTTLE", tuned, 20.0, null);
+
+            assertEquals(tuned, bank.getConfiguration(Axis.THROTTLE));
+            assertEquals(20.0, bank.getFrequency(Axis.THROTTLE), 1e-9);
+            assertThrows(IllegalArgumentException.class, () -> orchestrator.configure("BANK", tuned, null, null));
+        } finally {
+            orchestrator.stop();
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.History;
+import com.nativenavj.domain.Target;
+import com.nativenavj.domain.Telemetry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredictorTest {
+
+    /**
+     * Publishes one second of frames at 50 Hz with linear speed and altitude trends.
+     */
+    private static History fly(double speed, double deceleration, double altitude, double climb, double roll) {
+        History history = new History(256, Telemetry.SIZE);
+        Telemetry telemetry = new Telemetry(history);
+        for (int i = 0; i <= 50; i++) {
+            double time = i * 0.02;
+            telemetry.set(Telemetry.TIME, time);
+            telemetry.set(Telemetry.SPEED, speed - deceleration * time);
+            telemetry.set(Telemetry.ALTITUDE, altitude + climb * time);
+            telemetry.set(Telemetry.ROLL, roll);
+            telemetry.set(Telemetry.PITCH, 0.0);
+            telemetry.publish();
+        }
+        return history;
+    }
+
+    @Test
+    void shouldReportNothingWithoutTelemetry() {
+        Predictor predictor = new Predictor();
+        assertFalse(predictor.predict(new History(16, Telemetry.SIZE), Target.neutral(), 60.0, 0.0));
+        assertTrue(Double.isNaN(predictor.getSpeedMargin()));
+    }
+
+    @Test
+    void shouldExtrapolateTrends() {
+        Predictor predictor = new Predictor();
+        // 80 kts losing 3 kts/s, level target; after 1 s at 77 kts
+        assertTrue(predictor.predict(fly(80.0, 3.0, 1000.0, 10.0, 0.0), Target.neutral(), 60.0, 500.0));
+        assertEquals(77.0 - 3.0 * Predictor.HORIZON, predictor.getSpeed(), 1e-6);
+        assertEquals(1010.0 + 10.0 * Predictor.HORIZON, predictor.getAltitude(), 1e-6);
+        assertEquals(62.0 - 60.0, predictor.getSpeedMargin(), 1e-6);
+        assertEquals(1060.0 - 500.0, predictor.getAltitudeMargin(), 1e-6);
+        assertEquals(Predictor.BANK, predictor.getBankMargin(), 1e-6);
+    }
+
+    @Test
+    void shouldRaiseStallSpeedWithBank() {
+        Predictor predictor = new Predictor();
+        History history = fly(70.0, 0.0, 1000.0, 0.0, 0.0);
+        predictor.predict(history, Target.neutral(), 60.0, 0.0);
+        assertTrue(predictor.getSpeedMargin() > 0);
+        predictor.predict(history, new Target(45.0, 0.0, 0.0, 0.5), 60.0, 0.0);
+        assertEquals(45.0, predictor.getBank(), 0.5);
+        assertTrue(predictor.getSpeedMargin() < 0);
+        assertEquals(15.0, predictor.getBankMargin(), 0.5);
+    }
+
+    @Test
+    void shouldBleedSpeedForPitchUp() {
+        Predictor predictor = new Predictor();
+        History history = fly(70.0, 0.0, 1000.0, 0.0, 0.0);
+        predictor.predict(history, new Target(0.0, 10.0, 0.0, 0.5), 60.0, 0.0);
+        assertTrue(predictor.getSpeed() < 70.0);
+    }
+}
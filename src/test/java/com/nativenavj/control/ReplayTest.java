@@ -0,0 +1,88 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Axis;
+import com.nativenavj.domain.Command;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Recorder;
+import com.nativenavj.domain.Recording;
+import com.nativenavj.domain.Shell;
+import com.nativenavj.domain.State;
+import com.nativenavj.domain.Target;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReplayTest {
+
+    private static final int FRAMES = 100;
+
+    @TempDir
+    Path directory;
+
+    private Path session;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Memory source = new Memory();
+        Recorder recorder = new Recorder(directory, 64);
+        session = recorder.getDirectory();
+        source.setRecorder(recorder);
+        source.setTarget(new Target(0, 2.0, 0, 0.5));
+        for (int i = 0; i < FRAMES; i++) {
+            if (i % 32 == 0)
+                recorder.run();
+            double time = 100 + i * 0.02;
+            source.setState(new State(0, 0, 90, 3000, 0, Math.sin(i * 0.1), 0, 120, i * 0.01, time));
+            source.record(Recorder.Kind.COMMAND, Axis.ELEVATOR.ordinal(), 0.1);
+        }
+    }
+
+    @Test
+    void shouldReadRecordsInOrder() throws IOException {
+        try (Recording recording = new Recording(session)) {
+            assertTrue(recording.next());
+            assertEquals(Recorder.Kind.TARGET, recording.getKind());
+            assertEquals(2.0, recording.getValue(1));
+            assertTrue(recording.next());
+            assertEquals(Recorder.Kind.STATE, recording.getKind());
+            assertEquals(100.0, recording.getTime());
+        }
+        try (Recording recording = new Recording(session)) {
+            assertEquals(FRAMES, Replay.commands(recording).size());
+        }
+    }
+
+    @Test
+    void shouldRunControllersAtTheirRates() throws IOException {
+        List<Command> commands = play();
+
+        assertEquals(FRAMES, commands.stream().filter(command -> command.axis() == Axis.ELEVATOR).count());
+        assertEquals(FRAMES / 5, commands.stream().filter(command -> command.axis() == Axis.THROTTLE).count());
+        assertEquals(100.0, commands.get(0).time());
+    }
+
+    @Test
+    void shouldProduceIdenticalCommandsOnEveryRun() throws IOException {
+        assertEquals(play(), play());
+    }
+
+    private List<Command> play() throws IOException {
+        Memory memory = new Memory();
+        Replay replay = new Replay(memory, 0);
+        new Orchestrator(memory, replay, mock(Computer.class), mock(Shell.class), mock(Runnable.class));
+        memory.setActive("PITCH", true);
+        memory.setActive("THROTTLE", true);
+        try (Recording recording = new Recording(session)) {
+            List<Command> commands = replay.play(recording);
+            assertEquals(FRAMES, replay.getFrames());
+            return commands;
+        }
+    }
+}
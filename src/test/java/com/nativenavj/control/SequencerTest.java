@@ -0,0 +1,58 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Memory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequencerTest {
+
+    private Memory memory;
+    private Sequencer sequencer;
+    private List<String> runs;
+
+    @BeforeEach
+    void setUp() {
+        memory = new Memory();
+        runs = new ArrayList<>();
+        for (String name : new String[] { "THROTTLE", "PITCH", "COMPUTER" }) {
+            memory.addTask(name, () -> runs.add(name), new Loop(true, name.equals("PITCH") ? 50.0 : 10.0));
+        }
+        sequencer = new Sequencer(memory);
+    }
+
+    @Test
+    void shouldRunComputerBeforeControllers() {
+        sequencer.step(0.0);
+        assertEquals(List.of("COMPUTER", "PITCH", "THROTTLE"), runs);
+    }
+
+    @Test
+    void shouldRunSlowTasksOnPeriodGrid() {
+        for (int i = 0; i < 50; i++) {
+            sequencer.step(i * 0.02);
+        }
+        assertEquals(50, runs.stream().filter("PITCH"::equals).count());
+        assertEquals(10, runs.stream().filter("THROTTLE"::equals).count());
+    }
+
+    @Test
+    void shouldRunSlowTasksOnFrameDivisor() {
+        for (int frame = 0; frame < 50; frame++) {
+            sequencer.cycle(frame);
+        }
+        assertEquals(50, runs.stream().filter("PITCH"::equals).count());
+        assertEquals(10, runs.stream().filter("COMPUTER"::equals).count());
+    }
+
+    @Test
+    void shouldSkipInactiveTasks() {
+        memory.setActive("PITCH", false);
+        sequencer.cycle(0);
+        assertFalse(runs.contains("PITCH"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskTest {
+
+    private static final long PERIOD = 10_000_000; // 10 ms
+
+    @Test
+    void shouldRecordExecutionTime() {
+        Task task = new Task("PITCH", () -> {
+        }, PERIOD, Task.Policy.BURST);
+        task.run();
+        task.run();
+        assertEquals(2, task.getRuns());
+        assertEquals(2, task.getExecution().getCount());
+        assertEquals(1, task.getJitter().getCount());
+        assertEquals(0, task.getOverrun());
+    }
+
+    @Test
+    void shouldCountOverrun() {
+        Task task = new Task("SLOW", () -> sleep(15), PERIOD, Task.Policy.BURST);
+        task.run();
+        assertEquals(1, task.getOverrun());
+    }
+
+    @Test
+    void shouldRunLateExecutionsInBurst() {
+        AtomicInteger runs = new AtomicInteger();
+        Task task = new Task("PITCH", runs::incrementAndGet, PERIOD, Task.Policy.BURST);
+        task.run();
+        sleep(35);
+        task.run();
+        task.run();
+        assertEquals(3, runs.get());
+        assertTrue(task.getMissed() >= 1);
+        assertEquals(0, task.getSkipped());
+    }
+
+    @Test
+    void shouldSkipLateExecutions() {
+        AtomicInteger runs = new AtomicInteger();
+        Task task = new Task("PITCH", runs::incrementAndGet, PERIOD, Task.Policy.SKIP);
+        task.run();
+        sleep(35);
+        task.run();
+        task.run();
+        assertEquals(1, runs.get());
+        assertEquals(2, task.getSkipped());
+    }
+
+    @Test
+    void shouldReportPercentileBuckets() {
+        Histogram histogram = new Histogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(3_000); // 3 us
+        }
+        histogram.record(1_000_000); // 1 ms
+        assertEquals(4, histogram.getPercentile(0.5));
+        assertEquals(1024, histogram.getPercentile(1.0));
+        assertEquals(1000, histogram.getMaximum());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.nativenavj.control;
+
+import com.nativenavj.domain.Axis;
+import com.nativenavj.domain.Configuration;
+import com.nativenavj.domain.Memory;
+import com.nativenavj.domain.Shell;
+import com.nativenavj.domain.Table;
+import com.nativenavj.port.Aircraft;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TunerTest {
+
+    @Test
+    void shouldNotBeWorseThanCurrentGains() {
+        Memory memory = new Memory();
+        memory.setProfile("PITCH", Configuration.SURFACE);
+        Tuner.Result result = new Tuner(memory).tune("PITCH");
+        assertTrue(result.cost() <= Tuner.evaluate("PITCH", Configuration.SURFACE));
+        assertEquals(result.configuration(), memory.getProfile("PITCH"));
+    }
+
+    @Test
+    void shouldImproveRollResponse() {
+        Memory memory = new Memory();
+        memory.setProfile("ROLL", Configuration.SURFACE);
+        Tuner.Result result = new Tuner(memory).tune("ROLL");
+        assertTrue(result.cost() < Tuner.evaluate("ROLL", Configuration.SURFACE));
+        assertNotEquals(Configuration.SURFACE, memory.getProfile("ROLL"));
+    }
+
+    @Test
+    void shouldBeDeterministic() {
+        Memory first = new Memory();
+        Memory second = new Memory();
+        first.setProfile("THROTTLE", Configuration.CLIMB);
+        second.setProfile("THROTTLE", Configuration.CLIMB);
+        assertEquals(new Tuner(first).tune("THROTTLE"), new Tuner(second).tune("THROTTLE"));
+    }
+
+    @Test
+    void shouldSwapGainsIntoRunningController() {
+        Memory memory = new Memory();
+        Controller controller = new Controller(() -> 0.0, value -> {
+        }, reading -> {
+        }, Configuration.SURFACE);
+        memory.addController("YAW", controller, new Loop(false, 50.0), Configuration.SURFACE);
+        Tuner.Result result = new Tuner(memory).tune("YAW");
+        assertEquals(result.configuration(), controller.getConfiguration());
+    }
+
+    @Test
+    void shouldRouteGainsThroughOrchestrator() {
+        Memory memory = new Memory();
+        Orchestrator orchestrator = new Orchestrator(memory, mock(Aircraft.class), new Computer(memory),
+                mock(Shell.class), mock(Runnable.class));
+        try {
+            Tuner.Result result = new Tuner(memory, orchestrator).tune("ROLL");
+            Bank bank = (Bank) memory.getRunnable("BANK");
+            assertEquals(result.configuration(), memory.getProfile("ROLL"));
+            assertEquals(result.configuration(), ((Controller) memory.getRunnable("ROLL")).getConfiguration());
+            assertEquals(result.configuration(), bank.getConfiguration(Axis.AILERON));
+        } finally {
+            orchestrator.stop();
+        }
+    }
+
+    @Test
+    void shouldRefuseAxisWithGainTable() {
+        Memory memory = new Memory();
+        memory.setProfile("PITCH", Configuration.SURFACE);
+        memory.setTable("PITCH", new Table(new double[] { 60 }, new double[] { 0 },
+                new double[] { 1.0, 0, 0, -1, 1 }));
+        assertThrows(IllegalArgumentException.class, () -> new Tuner(memory).tune("PITCH"));
+        assertEquals(Configuration.SURFACE, memory.getProfile("PITCH"));
+    }
+
+    @Test
+    void shouldRejectAxisWithoutModel() {
+        Memory memory = new Memory();
+        memory.setProfile("SPEED", Configuration.SPEED_CONTROL);
+        assertThrows(IllegalArgumentException.class, () -> new Tuner(memory).tune("SPEED"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.nativenavj.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseTest {
+
+    private static final int FIXES = 5_000;
+
+    @TempDir
+    Path directory;
+
+    private double[][] position;
+    private Database database;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Synthetic world: two airports with a runway and a navaid, then random fixes
+        Random random = new Random(11);
+        List<String> lines = new ArrayList<>();
+        lines.add("# kind,ident,latitude,longitude,elevation,value");
+        lines.add("AIRPORT,EGJJ,49.2079,-2.1955,277,0");
+        lines.add("RUNWAY,EGJJ26,49.2050,-2.1800,277,263");
+        lines.add("NAVAID,JSY,49.2210,-2.0460,0,112.2");
+        lines.add("AIRPORT,LSZH,47.4647,8.5492,1416,0");
+        for (int i = 0; i < FIXES; i++) {
+            lines.add(String.format("FIX,F%05d,%.6f,%.6f,0,0", i, 180 * random.nextDouble() - 90,
+                    360 * random.nextDouble() - 180));
+        }
+        Path source = directory.resolve("navigation.csv");
+        Files.write(source, lines);
+        Database.build(source, directory.resolve("navigation.bin"));
+        database = new Database(directory.resolve("navigation.bin"));
+
+        position = new double[database.getCount()][];
+        for (int i = 0; i < position.length; i++) {
+            position[i] = new double[] { database.getLatitude(i), database.getLongitude(i) };
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    @Test
+    void shouldFindIdent() {
+        int index = database.find("egjj");
+        assertEquals(Database.Kind.AIRPORT, database.getKind(index));
+        assertEquals("EGJJ", database.getIdent(index));
+        assertEquals(49.2079, database.getLatitude(index), 1e-9);
+        assertEquals(277.0, database.getElevation(index), 1e-9);
+        assertEquals(112.2, database.getValue(database.find("JSY")), 1e-9);
+        assertEquals("F01234", database.getIdent(database.find("F01234")));
+        assertEquals(-1, database.find("XXXX"));
+        assertEquals(-1, database.find("TOOLONGIDENT"));
+        assertEquals(-1, database.find("EGJJ", Database.mask(Database.Kind.FIX)));
+    }
+
+    @Test
+    void shouldMatchBruteForceNearest() {
+        Random random = new Random(5);
+        int[] found = new int[8];
+        double[] distance = new double[8];
+        for (int query = 0; query < 50; query++) {
+            double latitude = 180 * random.nextDouble() - 90;
+            double longitude = 360 * random.nextDouble() - 180;
+            assertEquals(8, database.nearest(latitude, longitude, Database.ALL, found, distance));
+            int[] expected = IntStream.range(0, position.length).boxed()
+                    .sorted(Comparator.comparingDouble(
+                            i -> Sphere.distance(latitude, longitude, position[i][0], position[i][1])))
+                    .limit(8).mapToInt(Integer::intValue).toArray();
+            assertArrayEquals(expected, found);
+            assertEquals(Sphere.distance(latitude, longitude, position[expected[0]][0], position[expected[0]][1]),
+                    distance[0], 1e-6);
+        }
+    }
+
+    @Test
+    void shouldFilterNearestByKind() {
+        int[] found = new int[2];
+        double[] distance = new double[2];
+        int size = database.nearest(49.0, -2.0, Database.mask(Database.Kind.AIRPORT), found, distance);
+        assertEquals(2, size);
+        assertEquals("EGJJ", database.getIdent(found[0]));
+        assertEquals("LSZH", database.getIdent(found[1]));
+        assertTrue(distance[0] < distance[1]);
+    }
+
+    @Test
+    void shouldMatchBruteForceWithinRadius() {
+        Random random = new Random(9);
+        int[] found = new int[FIXES];
+        for (int query = 0; query < 50; query++) {
+            double latitude = 180 * random.nextDouble() - 90;
+            double longitude = 360 * random.nextDouble() - 180;
+            int size = database.within(latitude, longitude, 300, Database.ALL, found);
+            int[] actual = Arrays.copyOf(found, size);
+            Arrays.sort(actual);
+            int[] expected = IntStream.range(0, position.length)
+                    .filter(i -> Sphere.distance(latitude, longitude, position[i][0], position[i][1]) <= 300)
+                    .toArray();
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void shouldAnswerNearestInMicroseconds() {
+        int[] found = new int[5];
+        double[] distance = new double[5];
+        for (int i = 0; i < 20_000; i++) {
+            database.nearest(i % 180 - 90, i % 360 - 180, Database.ALL, found, distance);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            database.nearest(i % 180 - 90, i % 360 - 180, Database.ALL, found, distance);
+        }
+        long mean = (System.nanoTime() - start) / 10_000;
+        assertTrue(mean < 100_000, "Mean query took " + mean + " ns");
+    }
+
+    @Test
+    void shouldImportOurAirports() throws Exception {
+        Path source = Files.createDirectory(directory.resolve("ourairports"));
+        Files.write(source.resolve("airports.csv"), List.of(
+                "\"id\",\"ident\",\"type\",\"name\",\"latitude_deg\",\"longitude_deg\",\"elevation_ft\",\"keywords\"",
+                "2434,\"EGJJ\",\"medium_airport\",\"Jersey Airport\",49.2079,-2.1955,277,\"St Peter, \"\"JER\"\"\"",
+                "2435,\"LSZH\",\"large_airport\",\"Zurich Airport\",47.4647,8.5492,1416,\"Kloten",
+                "ZRH\"",
+                "9999,\"EG99\",\"closed\",\"Closed Field\",50.0,-1.0,10,",
+                "9998,\"GB-0001\",\"heliport\",\"Pad, North\",51.0,-1.0,,"));
+        Files.write(source.resolve("runways.csv"), List.of(
+                "\"id\",\"airport_ref\",\"airport_ident\",\"closed\",\"le_ident\",\"le_latitude_deg\","
+                        + "\"le_longitude_deg\",\"le_elevation_ft\",\"le_heading_degT\",\"he_ident\","
+                        + "\"he_latitude_deg\",\"he_longitude_deg\",\"he_elevation_ft\",\"he_heading_degT\"",
+                "1,2434,\"EGJJ\",0,\"08\",49.2086,-2.2110,,83,\"26\",49.2050,-2.1800,270,263"));
+        Files.write(source.resolve("navaids.csv"), List.of(
+                "\"id\",\"filename\",\"ident\",\"name\",\"type\",\"frequency_khz\",\"latitude_deg\","
+                        + "\"longitude_deg\",\"elevation_ft\"",
+                "85,\"Jersey_VOR-DME_GB\",\"JSY\",\"Jersey\",\"VOR-DME\",112200,49.2210,-2.0460,"));
+        Path target = directory.resolve("ourairports.bin");
+        Database.build(source, target);
+
+        try (Database imported = new Database(target)) {
+            assertEquals(6, imported.getCount());
+            assertEquals(1416.0, imported.getElevation(imported.find("LSZH")), 1e-9);
+            assertEquals(-1, imported.find("EG99"));
+            assertEquals(Database.Kind.AIRPORT, imported.getKind(imported.find("GB-0001")));
+            assertEquals(277.0, imported.getElevation(imported.find("EGJJ08")), 1e-9);
+            assertEquals(263.0, imported.getValue(imported.find("EGJJ26")), 1e-9);
+            assertEquals(112.2, imported.getValue(imported.find("JSY")), 1e-9);
+        }
+    }
+
+    @Test
+    void shouldReadQuotedFields() throws Exception {
+        java.io.BufferedReader reader = new java.io.BufferedReader(
+                new java.io.StringReader("1,\"a, \"\"b\"\"\",\"c\nd\",\n"));
+        assertEquals(List.of("1", "a, \"b\"", "c\nd", ""), Importer.record(reader));
+        assertNull(Importer.record(reader));
+    }
+
+    @Test
+    void shouldRejectOtherFiles() throws Exception {
+        Path other = directory.resolve("other.bin");
+        Files.write(other, new byte[128]);
+        assertThrows(java.io.IOException.class, () -> new Database(other));
+    }
+}
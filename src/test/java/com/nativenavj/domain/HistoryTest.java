@@ -0,0 +1,83 @@
+package com.nativenavj.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+import static java.lang.foreign.ValueLayout.JAVA_DOUBLE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryTest {
+
+    private static final int VALUE = 0;
+    private static final int TIME = 1;
+
+    private History history;
+    private MemorySegment frame;
+
+    @BeforeEach
+    void setUp() {
+        history = new History(8, 2);
+        frame = Arena.ofAuto().allocate(16);
+    }
+
+    @Test
+    void shouldRejectCapacityThatIsNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new History(10, 2));
+    }
+
+    @Test
+    void shouldReturnFrameByNumber() {
+        append(3);
+        assertEquals(1.0, history.get(2, VALUE));
+    }
+
+    @Test
+    void shouldReturnNaNForOverwrittenFrame() {
+        append(20);
+        assertTrue(Double.isNaN(history.get(2, VALUE)));
+    }
+
+    @Test
+    void shouldReturnNaNForFutureFrame() {
+        append(2);
+        assertTrue(Double.isNaN(history.get(5, VALUE)));
+    }
+
+    @Test
+    void shouldFindLatestFrameAtOrBeforeTime() {
+        append(20);
+        assertEquals(17, history.find(1.75, TIME));
+    }
+
+    @Test
+    void shouldNotFindTimeOlderThanBuffer() {
+        append(20);
+        assertEquals(-1, history.find(0.1, TIME));
+    }
+
+    @Test
+    void shouldCopyLatestValuesOldestFirst() {
+        append(20);
+        double[] values = new double[3];
+        history.copy(VALUE, values);
+        assertArrayEquals(new double[] { 8.5, 9.0, 9.5 }, values);
+    }
+
+    @Test
+    void shouldRecordPublishedTelemetry() {
+        Memory memory = new Memory();
+        memory.setState(new State(0, 0, 0, 1200, 0, 0, 0, 0, 0, 0));
+        assertEquals(1200, memory.getHistory().get(0, Telemetry.ALTITUDE));
+    }
+
+    private void append(int frames) {
+        for (int i = 0; i < frames; i++) {
+            frame.setAtIndex(JAVA_DOUBLE, VALUE, i * 0.5);
+            frame.setAtIndex(JAVA_DOUBLE, TIME, i * 0.1);
+            history.append(frame);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.nativenavj.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlannerTest {
+
+    /**
+     * Synthetic airway grid of side by side nodes half a degree apart, with
+     * orthogonal and a random share of diagonal airways in both directions.
+     */
+    private static Graph grid(int side, long seed) {
+        Random random = new Random(seed);
+        int size = side * side;
+        String[] name = new String[size];
+        double[] latitude = new double[size];
+        double[] longitude = new double[size];
+        for (int i = 0; i < size; i++) {
+            name[i] = "N" + i;
+            latitude[i] = 35.0 + (i / side) * 0.5 + random.nextDouble() * 0.1;
+            longitude[i] = -10.0 + (i % side) * 0.5 + random.nextDouble() * 0.1;
+        }
+        int[] from = new int[size * 6];
+        int[] to = new int[size * 6];
+        int edges = 0;
+        for (int i = 0; i < size; i++) {
+            int row = i / side;
+            int column = i % side;
+            int[] neighbours = { column + 1 < side ? i + 1 : -1, row + 1 < side ? i + side : -1,
+                    column + 1 < side && row + 1 < side && random.nextInt(4) == 0 ? i + side + 1 : -1 };
+            for (int next : neighbours) {
+                if (next < 0)
+                    continue;
+                from[edges] = i;
+                to[edges++] = next;
+                from[edges] = next;
+                to[edges++] = i;
+            }
+        }
+        return new Graph(name, latitude, longitude, Arrays.copyOf(from, edges), Arrays.copyOf(to, edges));
+    }
+
+    private static double dijkstra(Graph graph, int origin, int destination) {
+        double[] cost = new double[graph.size()];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        cost[origin] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        queue.add(new double[] { 0, origin });
+        while (!queue.isEmpty()) {
+            double[] top = queue.poll();
+            int node = (int) top[1];
+            if (top[0] > cost[node])
+                continue;
+            for (int slot = graph.getOffset(node); slot < graph.getLimit(node); slot++) {
+                int next = graph.getTarget(slot);
+                double candidate = cost[node] + graph.getWeight(slot);
+                if (candidate < cost[next]) {
+                    cost[next] = candidate;
+                    queue.add(new double[] { candidate, next });
+                }
+            }
+        }
+        return cost[destination];
+    }
+
+    @Test
+    void shouldFindShortestPath() {
+        Graph graph = grid(30, 1);
+        Planner planner = new Planner(graph);
+        Random random = new Random(2);
+        for (int i = 0; i < 20; i++) {
+            int origin = random.nextInt(graph.size());
+            int destination = random.nextInt(graph.size());
+            Planner.Plan plan = planner.plan(origin, destination, Set.of());
+            assertEquals(dijkstra(graph, origin, destination), plan.distance(), 1e-6);
+            assertEquals(origin, plan.path()[0]);
+            assertEquals(destination, plan.path()[plan.path().length - 1]);
+        }
+    }
+
+    @Test
+    void shouldServeRepeatedPlanFromCache() {
+        Planner planner = new Planner(grid(10, 3));
+        Planner.Plan first = planner.plan(0, 99, Set.of());
+        assertSame(first, planner.plan(0, 99, Set.of()));
+        assertEquals(1, planner.getHits());
+        assertEquals(1, planner.getMisses());
+        assertNotSame(first, planner.plan(0, 99, Set.of(11)));
+    }
+
+    @Test
+    void shouldAvoidNodes() {
+        Graph graph = grid(10, 3);
+        Planner planner = new Planner(graph);
+        int[] path = planner.plan(0, 9, Set.of()).path();
+        int middle = path[path.length / 2];
+        Planner.Plan detour = planner.plan(0, 9, Set.of(middle));
+        assertTrue(Arrays.stream(detour.path()).noneMatch(node -> node == middle));
+    }
+
+    @Test
+    void shouldReportUnreachableDestination() {
+        Graph graph = new Graph(new String[] { "A", "B", "C" }, new double[] { 0, 0, 1 }, new double[] { 0, 1, 1 },
+                new int[] { 0 }, new int[] { 1 });
+        assertNull(new Planner(graph).plan(0, 2, Set.of()));
+    }
+
+    @Test
+    void shouldReuseRestOfPlanWhileNearIt() {
+        Graph graph = grid(20, 4);
+        Planner planner = new Planner(graph);
+        int[] path = planner.plan(0, 399, Set.of()).path();
+        int node = path[path.length / 2];
+        long misses = planner.getMisses();
+        // Slightly off the node, the rest of the plan is reused without a search
+        Planner.Plan rest = planner.replan(graph.getLatitude(node) + 0.01, graph.getLongitude(node), 399, Set.of());
+        assertEquals(misses, planner.getMisses());
+        assertArrayEquals(Arrays.copyOfRange(path, path.length / 2, path.length), rest.path());
+    }
+
+    @Test
+    void shouldRepairPlanAfterDeviation() {
+        Graph graph = grid(20, 4);
+        Planner planner = new Planner(graph);
+        int[] path = planner.plan(0, 399, Set.of()).path();
+        // A node next to the middle of the plan that is not on it
+        int middle = path[path.length / 2];
+        int off = -1;
+        for (int slot = graph.getOffset(middle); slot < graph.getLimit(middle); slot++) {
+            int next = graph.getTarget(slot);
+            if (Arrays.stream(path).noneMatch(node -> node == next))
+                off = next;
+        }
+        assertTrue(off >= 0);
+        long misses = planner.getMisses();
+
+        Planner.Plan repaired = planner.replan(graph.getLatitude(off), graph.getLongitude(off), 399, Set.of());
+        assertEquals(misses, planner.getMisses());
+        assertEquals(1, planner.getRepairs());
+        int[] route = repaired.path();
+        assertEquals(off, route[0]);
+        assertEquals(399, route[route.length - 1]);
+        double length = 0.0;
+        for (int i = 1; i < route.length; i++) {
+            int from = route[i - 1];
+            int to = route[i];
+            boolean airway = false;
+            for (int slot = graph.getOffset(from); slot < graph.getLimit(from); slot++) {
+                airway |= graph.getTarget(slot) == to;
+            }
+            assertTrue(airway, "No airway from " + from + " to " + to);
+            length += graph.distance(from, to);
+        }
+        assertEquals(length, repaired.distance(), 1e-6);
+        assertTrue(repaired.distance() >= dijkstra(graph, off, 399) - 1e-6);
+        // Rejoins the old plan and keeps its rest
+        int rejoin = 1;
+        while (indexOf(path, route[rejoin]) < 0)
+            rejoin++;
+        assertArrayEquals(Arrays.copyOfRange(path, indexOf(path, route[rejoin]), path.length),
+                Arrays.copyOfRange(route, rejoin, route.length));
+    }
+
+    private static int indexOf(int[] path, int node) {
+        for (int i = 0; i < path.length; i++) {
+            if (path[i] == node)
+                return i;
+        }
+        return -1;
+    }
+
+    @Test
+    void shouldPlanLargeGraphInMilliseconds() {
+        Graph graph = grid(300, 5);
+        Planner planner = new Planner(graph);
+        planner.plan(0, graph.size() - 1, Set.of(12));
+        long start = System.nanoTime();
+        Planner.Plan plan = planner.plan(0, graph.size() - 1, Set.of());
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        assertNotNull(plan);
+        assertTrue(elapsed < 500, "Planning took " + elapsed + " ms");
+    }
+
+    @Test
+    void shouldBuildRouteFromPath() {
+        Graph graph = grid(5, 6);
+        Route route = graph.route(new Planner(graph).plan(0, 24, Set.of()).path());
+        assertEquals("N0", route.getName(0));
+        assertEquals("N24", route.getName(route.size() - 1));
+    }
+}
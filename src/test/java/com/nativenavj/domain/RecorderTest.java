@@ -0,0 +1,169 @@
+package com.nativenavj.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecorderTest {
+
+    @TempDir
+    Path directory;
+
+    private Recorder recorder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        recorder = new Recorder(directory, 2);
+    }
+
+    @Test
+    void shouldWriteFixedWidthRecord() throws IOException {
+        recorder.write(Recorder.Kind.COMMAND, Axis.RUDDER.ordinal(), 12.5, 0.25);
+
+        ByteBuffer record = read(0, 0);
+        assertEquals(Recorder.Kind.COMMAND, Recorder.kind(record.getInt((int) Recorder.KIND)));
+        assertEquals(Axis.RUDDER.ordinal(), record.getInt((int) Recorder.CHANNEL));
+        assertTrue(record.getLong((int) Recorder.CLOCK) != 0);
+        assertEquals(12.5, record.getDouble((int) Recorder.TIME));
+        assertEquals(0.25, record.getDouble((int) Recorder.DATA));
+    }
+
+    @Test
+    void shouldRecordPublishedTelemetryAndTarget() throws IOException {
+        Memory memory = new Memory();
+        memory.setRecorder(recorder);
+
+        memory.setState(new State(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        memory.setTarget(new Target(0.1, 0.2, 0.3, 0.4));
+
+        ByteBuffer state = read(0, 0);
+        assertEquals(Recorder.Kind.STATE, Recorder.kind(state.getInt((int) Recorder.KIND)));
+        assertEquals(10.0, state.getDouble((int) Recorder.TIME));
+        assertEquals(6.0, state.getDouble((int) Recorder.DATA + 8 * Telemetry.PITCH));
+
+        ByteBuffer target = read(0, 1);
+        assertEquals(Recorder.Kind.TARGET, Recorder.kind(target.getInt((int) Recorder.KIND)));
+        assertEquals(10.0, target.getDouble((int) Recorder.TIME));
+        assertEquals(0.4, target.getDouble((int) Recorder.DATA + 24));
+    }
+
+    @Test
+    void shouldDropRecordsWithoutMappedSegment() {
+        for (int i = 0; i < 5; i++) {
+            recorder.write(Recorder.Kind.OUTPUT, 0, i, i);
+        }
+        assertEquals(5, recorder.getPosition());
+        assertEquals(1, recorder.getDropped());
+    }
+
+    @Test
+    void shouldMapNextSegmentAhead() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            recorder.write(Recorder.Kind.OUTPUT, 0, i, i);
+        }
+        recorder.run();
+        for (int i = 3; i < 6; i++) {
+            recorder.write(Recorder.Kind.OUTPUT, 0, i, i);
+        }
+
+        assertEquals(0, recorder.getDropped());
+        assertEquals(4.0, read(2, 0).getDouble((int) Recorder.DATA));
+    }
+
+    @Test
+    void shouldWriteEverySessionApart() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            recorder.write(Recorder.Kind.OUTPUT, 0, i, i);
+        }
+        recorder.run();
+
+        Recorder second = new Recorder(directory, 2);
+        second.write(Recorder.Kind.COMMAND, 1, 42.0, 0.5);
+        assertNotEquals(recorder.getDirectory(), second.getDirectory());
+
+        try (Recording recording = new Recording(second.getDirectory())) {
+            assertTrue(recording.next());
+            assertEquals(Recorder.Kind.COMMAND, recording.getKind());
+            assertEquals(42.0, recording.getTime());
+            assertFalse(recording.next());
+        }
+        // The first session is left as it was
+        assertEquals(2.0, read(1, 0).getDouble((int) Recorder.DATA));
+    }
+
+    @Test
+    void shouldReadLatestSessionOfRoot() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            recorder.write(Recorder.Kind.OUTPUT, 0, i, i);
+        }
+        Recorder second = new Recorder(directory, 2);
+        second.write(Recorder.Kind.COMMAND, 1, 42.0, 0.5);
+        assertEquals(second.getDirectory(), Recorder.latest(directory));
+
+        try (Recording recording = new Recording(directory)) {
+            assertTrue(recording.next());
+            assertEquals(42.0, recording.getTime());
+            assertFalse(recording.next());
+        }
+    }
+
+    @Test
+    void shouldCreateEverySkippedSegment() throws IOException {
+        // The mapper falls behind: segment 2 is never mapped and its records are dropped
+        for (int i = 0; i < 6; i++) {
+            recorder.write(Recorder.Kind.OUTPUT, 0, i, i);
+        }
+        assertEquals(2, recorder.getDropped());
+        recorder.run();
+        recorder.write(Recorder.Kind.COMMAND, 1, 42.0, 0.5);
+        assertTrue(Files.exists(recorder.file(2)));
+
+        try (Recording recording = new Recording(recorder.getDirectory())) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(recording.next());
+                assertEquals(i, recording.getTime());
+            }
+            assertTrue(recording.next());
+            assertEquals(Recorder.Kind.COMMAND, recording.getKind());
+            assertEquals(42.0, recording.getTime());
+            assertFalse(recording.next());
+        }
+    }
+
+    @Test
+    void shouldReadRecordsAfterMissingSegment() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            recorder.write(Recorder.Kind.OUTPUT, 0, i, i);
+        }
+        recorder.run();
+        for (int i = 3; i < 6; i++) {
+            recorder.write(Recorder.Kind.OUTPUT, 0, i, i);
+        }
+        // A whole segment is lost: the records after it are still read
+        Files.delete(recorder.file(1));
+        try (Recording recording = new Recording(recorder.getDirectory())) {
+            assertTrue(recording.next());
+            assertEquals(0.0, recording.getTime());
+            assertTrue(recording.next());
+            assertEquals(1.0, recording.getTime());
+            assertTrue(recording.next());
+            assertEquals(4.0, recording.getTime());
+            assertTrue(recording.next());
+            assertEquals(5.0, recording.getTime());
+            assertFalse(recording.next());
+        }
+    }
+
+    private ByteBuffer read(long segment, int slot) throws IOException {
+        byte[] bytes = Files.readAllBytes(recorder.file(segment));
+        return ByteBuffer.wrap(bytes, slot * Recorder.WIDTH, Recorder.WIDTH).slice().order(ByteOrder.nativeOrder());
+    }
+}
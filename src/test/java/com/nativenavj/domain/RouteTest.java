@@ -0,0 +1,35 @@
+package com.nativenavj.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteTest {
+
+    private static final Route ROUTE = new Route(new String[] { "A", "B", "C" }, new double[] { 0, 0, 1 },
+            new double[] { 0, 1, 1 });
+
+    @Test
+    void shouldPrecomputeLegGeometry() {
+        assertEquals(2, ROUTE.getLegs());
+        assertEquals(Sphere.distance(0, 0, 0, 1), ROUTE.getLength(0), 1e-9);
+        assertEquals(60.0, ROUTE.getLength(0), 0.1);
+        assertEquals(90.0, ROUTE.getCourse(0), 1e-9);
+        assertEquals(0.0, ROUTE.getCourse(1), 1e-9);
+    }
+
+    @Test
+    void shouldPointNormalLeftOfTrack() {
+        // Flying east along the equator, left is north
+        assertEquals(1.0, ROUTE.getNormal(0, 2), 1e-9);
+        assertEquals(1.0, ROUTE.getVector(0, 0), 1e-9);
+    }
+
+    @Test
+    void shouldRejectDegenerateLeg() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new Route(new String[] { "A", "A" }, new double[] { 1, 1 }, new double[] { 2, 2 }));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Route(new String[] { "A" }, new double[] { 1 }, new double[] { 2 }));
+    }
+}
@@ -2,7 +2,11 @@ package com.nativenavj.domain;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 class ShellTest {
@@ -98,4 +102,41 @@ class ShellTest {
         shell.execute("SET YAW FRQ 25");
         assertEquals(25.0, memory.getFrequency("YAW"), 0.01);
     }
+
+    @Test
+    void shouldRejectGainsForBank() {
+        assertTrue(shell.execute("SET BNK KP 1").startsWith("ERROR"));
+        assertNull(memory.getProfile("BANK"));
+    }
+
+    @Test
+    void shouldLoadAndEditGainTables(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("Gains.txt");
+        Files.write(file, List.of("PITCH 60 0 2 0.2 0.1 -1 1", "PITCH 120 0 1 0.1 0.1 -1 1"));
+        assertTrue(shell.execute("TBL LOAD " + file).startsWith("Loaded 1"));
+        assertEquals(2.0, memory.getTable("PITCH").get(60, 0).proportion(), 1e-9);
+
+        shell.execute("TBL PIT 60 0 3 0.3 0.2");
+        Configuration edited = memory.getTable("PITCH").get(60, 0);
+        assertEquals(3.0, edited.proportion(), 1e-9);
+        assertEquals(1.0, edited.maximum(), 1e-9);
+
+        shell.execute("TBL PIT OFF");
+        assertNull(memory.getTable("PITCH"));
+    }
+
+    @Test
+    void shouldPlanAirwayRoute() {
+        assertTrue(shell.execute("PLN B").startsWith("ERROR"));
+        // A-B-C along the equator and a long way round through D
+        Graph graph = new Graph(new String[] { "A", "B", "C", "D" }, new double[] { 0, 0, 0, 5 },
+                new double[] { 0, 1, 2, 1 }, new int[] { 0, 1, 1, 2, 0, 3, 3, 2 },
+                new int[] { 1, 0, 2, 1, 3, 0, 2, 3 });
+        memory.setPlanner(new Planner(graph));
+
+        assertTrue(shell.execute("PLN A C").startsWith("Route"));
+        assertEquals(3, memory.getRoute().size());
+        assertEquals("B", memory.getRoute().getName(1));
+        assertTrue(shell.execute("PLN A X").startsWith("ERROR"));
+    }
 }
@@ -0,0 +1,71 @@
+package com.nativenavj.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableTest {
+
+    private static final List<String> LINES = List.of(
+            "# name speed altitude kp ki kd min max",
+            "PITCH 60 0 2.0 0.2 0.1 -1 1",
+            "PITCH 60 10000 3.0 0.3 0.1 -1 1",
+            "PITCH 120 0 1.0 0.1 0.1 -1 1",
+            "PITCH 120 10000 2.0 0.2 0.1 -1 1",
+            "roll 90 5000 0.5 0 0 -1 1");
+
+    @Test
+    void shouldInterpolateBetweenBreakpoints() {
+        Table table = Table.parse(LINES).get("PITCH");
+        double[] gains = new double[Table.GAINS];
+        table.lookup(90, 5000, gains);
+        assertEquals(2.0, gains[0], 1e-9);
+        assertEquals(0.2, gains[1], 1e-9);
+        assertEquals(-1.0, gains[3], 1e-9);
+        table.lookup(60, 10000, gains);
+        assertEquals(3.0, gains[0], 1e-9);
+    }
+
+    @Test
+    void shouldClampOutsideTheGrid() {
+        Table table = Table.parse(LINES).get("PITCH");
+        double[] gains = new double[Table.GAINS];
+        table.lookup(200, -500, gains);
+        assertEquals(1.0, gains[0], 1e-9);
+        Table single = Table.parse(LINES).get("ROLL");
+        single.lookup(10, 40000, gains);
+        assertEquals(0.5, gains[0], 1e-9);
+    }
+
+    @Test
+    void shouldReplaceGridPoint() {
+        Table table = Table.parse(LINES).get("PITCH");
+        Configuration tuned = new Configuration(4.0, 0.4, 0.2, -2, 2);
+        Table edited = table.with(120, 0, tuned);
+        assertEquals(tuned, edited.get(120, 0));
+        assertEquals(1.0, table.get(120, 0).proportion(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> table.with(100, 0, tuned));
+    }
+
+    @Test
+    void shouldRejectIncompleteGrid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Table.parse(List.of("PITCH 60 0 1 0 0 -1 1", "PITCH 120 1000 1 0 0 -1 1")));
+    }
+
+    @Test
+    void shouldLoadTablesFromFile(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("Gains.txt");
+        Files.write(file, LINES);
+        Map<String, Table> tables = Table.load(file);
+        assertEquals(2, tables.size());
+        assertArrayEquals(new double[] { 60, 120 }, tables.get("PITCH").getSpeed());
+        assertArrayEquals(new double[] { 0, 10000 }, tables.get("PITCH").getAltitude());
+    }
+}
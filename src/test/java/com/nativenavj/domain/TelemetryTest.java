@@ -0,0 +1,108 @@
+package com.nativenavj.domain;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryTest {
+
+    private Telemetry telemetry;
+
+    @BeforeEach
+    void setUp() {
+        telemetry = new Telemetry();
+    }
+
+    @Test
+    void shouldStartNeutral() {
+        assertEquals(State.neutral(), telemetry.getState());
+    }
+
+    @Test
+    void shouldHideStagedValuesUntilPublish() {
+        telemetry.set(Telemetry.ALTITUDE, 1500.0);
+        assertEquals(0.0, telemetry.get(Telemetry.ALTITUDE));
+    }
+
+    @Test
+    void shouldExposePublishedValues() {
+        telemetry.set(Telemetry.ALTITUDE, 1500.0);
+        telemetry.publish();
+        assertEquals(1500.0, telemetry.get(Telemetry.ALTITUDE));
+    }
+
+    @Test
+    void shouldAdvanceSequenceByTwoPerPublish() {
+        telemetry.publish();
+        assertEquals(2, telemetry.getSequence());
+    }
+
+    @Test
+    void shouldRoundTripState() {
+        State state = new State(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        telemetry.write(state);
+        assertEquals(state, telemetry.getState());
+    }
+
+    @Test
+    void shouldReadConsistentSnapshotWhileWriting() throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            double value = 0;
+            while (running.get()) {
+                value++;
+                for (int i = 0; i < Telemetry.SIZE; i++) {
+                    telemetry.set(i, value);
+                }
+                telemetry.publish();
+            }
+        });
+        writer.start();
+        double[] values = new double[Telemetry.SIZE];
+        boolean torn = false;
+        for (int i = 0; i < 100_000 && !torn; i++) {
+            telemetry.read(values);
+            for (double value : values) {
+                torn |= value != values[0];
+            }
+        }
+        running.set(false);
+        writer.join();
+        assertFalse(torn, "Snapshot mixed values from different publishes");
+    }
+
+    @Test
+    void shouldWakeWaiterOnPublish() throws InterruptedException {
+        Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            telemetry.publish();
+        });
+        writer.start();
+        assertEquals(2, telemetry.await(0, 5_000_000_000L));
+        writer.join();
+    }
+
+    @Test
+    void shouldReturnSameSequenceOnTimeout() {
+        assertEquals(0, telemetry.await(0, 1_000_000));
+    }
+
+    @Test
+    void shouldPairValueWithTimeOfSameSnapshot() {
+        telemetry.set(Telemetry.PITCH, 3.0);
+        telemetry.set(Telemetry.TIME, 12.0);
+        telemetry.publish();
+        Reading reading = new Reading();
+        telemetry.sample(Telemetry.PITCH, reading);
+        assertTrue(reading.isPresent());
+        assertEquals(3.0, reading.getValue());
+        assertEquals(12.0, reading.getTime());
+    }
+}
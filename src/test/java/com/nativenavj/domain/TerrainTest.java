@@ -0,0 +1,128 @@
+package com.nativenavj.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TerrainTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Waits until the background loader has mapped every requested tile.
+     */
+    private static void settle(Terrain terrain) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (terrain.getPending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, terrain.getPending());
+    }
+
+    @Test
+    void shouldNameTilesBySouthWestCorner() {
+        assertEquals("N47W123.dem", Terrain.name(47, -123));
+        assertEquals("S05E007.dem", Terrain.name(-5, 7));
+    }
+
+    @Test
+    void shouldLoadTilesInBackground() throws Exception {
+        Terrain.write(directory, 47, -123, 121, (lat, lon) -> 1000.0 * (lat - 47) + 500.0 * (lon + 123));
+        try (Terrain terrain = new Terrain(directory)) {
+            assertTrue(Double.isNaN(terrain.elevation(47.5, -122.5)));
+            settle(terrain);
+            // Bilinear between the samples of a plane is exact, up to rounding to whole feet
+            assertEquals(750.0, terrain.elevation(47.5, -122.5), 1.0);
+            assertEquals(1000.0 * 0.123 + 500.0 * 0.877, terrain.elevation(47.123, -122.123), 1.0);
+            assertEquals(1, terrain.getLoads());
+        }
+    }
+
+    @Test
+    void shouldTreatMissingTilesAsUnknown() throws Exception {
+        try (Terrain terrain = new Terrain(directory)) {
+            terrain.elevation(10.5, 10.5);
+            settle(terrain);
+            assertTrue(Double.isNaN(terrain.elevation(10.5, 10.5)));
+            // Resident all the same: not requested again
+            assertEquals(0, terrain.getPending());
+            assertEquals(1, terrain.getLoads());
+        }
+    }
+
+    @Test
+    void shouldNotLowerFloorOverUnknownTerrain() throws Exception {
+        // Low terrain around the aircraft, the high tile east of it not loaded yet
+        Terrain.write(directory, 0, 0, 61, (lat, x) -> 200.0);
+        Terrain.write(directory, 0, 1, 61, (lat, x) -> 5000.0);
+        try (Terrain terrain = new Terrain(directory)) {
+            terrain.elevation(0.5, 0.5);
+            settle(terrain);
+            assertEquals(200.0 + Terrain.CLEARANCE, terrain.floor(0.5, 0.5, 90.0, 20.0), 1.0);
+            assertTrue(Double.isNaN(terrain.floor(0.5, 0.9, 90.0, 20.0)));
+            settle(terrain);
+            assertEquals(5000.0 + Terrain.CLEARANCE, terrain.floor(0.5, 0.9, 90.0, 20.0), 1.0);
+            // No DEM file to the west: unknown, not sea level
+            assertTrue(Double.isNaN(terrain.floor(0.5, 0.1, 270.0, 20.0)));
+        }
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedTile() throws Exception {
+        for (int lon = 0; lon < 3; lon++) {
+            int height = 100 * (lon + 1);
+            Terrain.write(directory, 0, lon, 11, (lat, x) -> height);
+        }
+        try (Terrain terrain = new Terrain(directory, 2)) {
+            terrain.elevation(0.5, 0.5);
+            settle(terrain);
+            terrain.elevation(0.5, 1.5);
+            settle(terrain);
+            assertEquals(100.0, terrain.elevation(0.5, 0.5));
+            terrain.elevation(0.5, 2.5);
+            settle(terrain);
+            assertEquals(100.0, terrain.elevation(0.5, 0.5));
+            assertEquals(300.0, terrain.elevation(0.5, 2.5));
+            // The second tile was used least recently
+            assertTrue(Double.isNaN(terrain.elevation(0.5, 1.5)));
+            settle(terrain);
+            assertEquals(4, terrain.getLoads());
+        }
+    }
+
+    @Test
+    void shouldFindFloorAheadAfterPrefetch() throws Exception {
+        // A ridge of 5000 ft along longitude 1.5 east of the aircraft
+        for (int lon = 0; lon < 2; lon++) {
+            Terrain.write(directory, 0, lon, 61, (lat, x) -> Math.abs(x - 1.5) < 0.05 ? 5000.0 : 200.0);
+        }
+        try (Terrain terrain = new Terrain(directory)) {
+            terrain.prefetch(0.5, 0.9, 90.0, 60.0);
+            settle(terrain);
+            assertEquals(2, terrain.getLoads());
+            assertEquals(5000.0 + Terrain.CLEARANCE, terrain.floor(0.5, 0.9, 90.0, 40.0), 1.0);
+            assertEquals(200.0 + Terrain.CLEARANCE, terrain.floor(0.5, 0.9, 270.0, 40.0), 1.0);
+        }
+    }
+
+    @Test
+    void shouldNotBlockOnUnloadedTiles() throws Exception {
+        for (int lat = 0; lat < 4; lat++) {
+            Terrain.write(directory, lat, 0, 1201, (y, x) -> 100.0);
+        }
+        try (Terrain terrain = new Terrain(directory)) {
+            long start = System.nanoTime();
+            for (int lat = 0; lat < 4; lat++) {
+                terrain.elevation(lat + 0.5, 0.5);
+            }
+            long elapsed = (System.nanoTime() - start) / 1_000;
+            assertTrue(elapsed < 20_000, "Lookups took " + elapsed + " us");
+            settle(terrain);
+            assertEquals(100.0, terrain.elevation(3.5, 0.5));
+        }
+    }
+}